@@ -0,0 +1,113 @@
+package com.ieti.proyectoieti.config;
+
+import com.ieti.proyectoieti.services.EventResponseCache;
+import com.ieti.proyectoieti.services.EventResponseCache.CachedResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves {@code GET /events}, {@code /events/upcoming} and {@code /events/category/{category}}
+ * from {@link EventResponseCache}. A miss runs the controller once and keeps the encoded body; a
+ * hit skips serialization entirely and answers a matching {@code If-None-Match} with 304.
+ */
+public class EventResponseCacheFilter extends OncePerRequestFilter {
+
+  private static final Pattern CACHEABLE_PATH = Pattern.compile("/events(/upcoming|/category/[^/]+)?/?");
+
+  private final EventResponseCache responseCache;
+
+  public EventResponseCacheFilter(EventResponseCache responseCache) {
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return !HttpMethod.GET.matches(request.getMethod()) || !CACHEABLE_PATH.matcher(path).matches();
+  }
+
+  @Override
+  protected void doFilterInternal(
+          HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+          throws ServletException, IOException {
+    String key = cacheKey(request);
+    CachedResponse cached = responseCache.get(key);
+    if (cached == null) {
+      long generation = responseCache.generation();
+      ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+      filterChain.doFilter(request, wrapper);
+      if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isJson(wrapper.getContentType())) {
+        wrapper.copyBodyToResponse();
+        return;
+      }
+      cached = responseCache.put(key, generation, wrapper.getContentAsByteArray());
+    }
+    write(request, response, cached);
+  }
+
+  private static void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+          throws IOException {
+    boolean gzip = acceptsGzip(request);
+    String etag = gzip ? cached.getGzipEtag() : cached.getEtag();
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    byte[] body = gzip ? cached.getGzip() : cached.getJson();
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  // The key covers the path and every query parameter, in a fixed order.
+  private static String cacheKey(HttpServletRequest request) {
+    StringBuilder key = new StringBuilder(request.getRequestURI());
+    Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+    for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+      key.append('&').append(parameter.getKey()).append('=').append(Arrays.toString(parameter.getValue()));
+    }
+    return key.toString();
+  }
+
+  private static boolean isJson(String contentType) {
+    return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+  }
+
+  private static boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+  }
+
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if (trimmed.equals("*") || trimmed.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,20 @@
+package com.ieti.proyectoieti.config;
+
+import com.ieti.proyectoieti.services.EventResponseCache;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebCacheConfig {
+
+  // Registered with the default (lowest) order so that it runs after the security filter chain.
+  @Bean
+  public FilterRegistrationBean<EventResponseCacheFilter> eventResponseCacheFilter(
+          EventResponseCache responseCache) {
+    FilterRegistrationBean<EventResponseCacheFilter> registration =
+            new FilterRegistrationBean<>(new EventResponseCacheFilter(responseCache));
+    registration.addUrlPatterns("/events", "/events/*");
+    return registration;
+  }
+}
@@ -5,8 +5,11 @@ import com.ieti.proyectoieti.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpSession;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +19,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Authentication", description = "Authentication and user profile APIs")
 public class AuthController {
 
+  static final String SESSION_PROFILE = AuthController.class.getName() + ".profile";
+
   private final UserService userService;
 
   public AuthController(UserService userService) {
@@ -27,7 +32,8 @@ public class AuthController {
           description = "Retrieves the authenticated user's profile information")
   @ApiResponse(responseCode = "200", description = "User profile retrieved successfully")
   @GetMapping("/api/user/profile")
-  public Map<String, Object> getUserProfile(@AuthenticationPrincipal OAuth2User principal) {
+  public Map<String, Object> getUserProfile(
+          @AuthenticationPrincipal OAuth2User principal, HttpSession session) {
     if (principal == null) {
       return Collections.singletonMap("error", "User not authenticated");
     }
@@ -38,7 +44,17 @@ public class AuthController {
     String email = principal.getAttribute("email");
     String picture = principal.getAttribute("picture");
 
-    User user = userService.createOrUpdateUser(providerUserId, name, email, picture);
+    // The provider attributes are fixed for the session, so the profile is synced once. Later
+    // requests only read the user by id, which keeps its group memberships current.
+    User user = null;
+    if (session.getAttribute(SESSION_PROFILE) instanceof SyncedProfile synced
+            && synced.matches(providerUserId, name, email, picture)) {
+      user = userService.getUserById(synced.userId).orElse(null);
+    }
+    if (user == null) {
+      user = userService.createOrUpdateUser(providerUserId, name, email, picture);
+      session.setAttribute(SESSION_PROFILE, new SyncedProfile(providerUserId, name, email, picture, user.getId()));
+    }
 
     return Map.of(
             "id", user.getId(),
@@ -59,4 +75,30 @@ public class AuthController {
   public Map<String, Boolean> getAuthStatus(@AuthenticationPrincipal OAuth2User principal) {
     return Collections.singletonMap("authenticated", principal != null);
   }
-}
\ No newline at end of file
+
+  /** Provider attributes last written to the user, and the id of that user. */
+  private static final class SyncedProfile implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String providerUserId;
+    private final String name;
+    private final String email;
+    private final String picture;
+    private final String userId;
+
+    SyncedProfile(String providerUserId, String name, String email, String picture, String userId) {
+      this.providerUserId = providerUserId;
+      this.name = name;
+      this.email = email;
+      this.picture = picture;
+      this.userId = userId;
+    }
+
+    boolean matches(String providerUserId, String name, String email, String picture) {
+      return Objects.equals(this.providerUserId, providerUserId)
+              && Objects.equals(this.name, name)
+              && Objects.equals(this.email, email)
+              && Objects.equals(this.picture, picture);
+    }
+  }
+}
@@ -2,15 +2,46 @@ package com.ieti.proyectoieti.controllers;
 
 import com.ieti.proyectoieti.controllers.dto.EventRequest;
 import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventBatchItem;
+import com.ieti.proyectoieti.models.EventBatchResult;
+import com.ieti.proyectoieti.models.EventBrowsePage;
+import com.ieti.proyectoieti.models.EventCluster;
+import com.ieti.proyectoieti.models.EventDeletionJob;
+import com.ieti.proyectoieti.models.EventImportJob;
+import com.ieti.proyectoieti.models.EventReservation;
+import com.ieti.proyectoieti.models.EventSummary;
+import com.ieti.proyectoieti.models.NearbyEvent;
+import com.ieti.proyectoieti.models.TrendingEvent;
+import com.ieti.proyectoieti.services.EventClusterService;
+import com.ieti.proyectoieti.services.EventImportService;
 import com.ieti.proyectoieti.services.EventService;
+import com.ieti.proyectoieti.services.RsvpService;
+import com.ieti.proyectoieti.services.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/events")
@@ -18,9 +49,25 @@ import org.springframework.web.bind.annotation.*;
 public class EventController {
 
   private final EventService eventService;
+  private final RsvpService rsvpService;
+  private final TrendingService trendingService;
+  private final EventImportService importService;
+  private final EventClusterService clusterService;
+  private final Validator validator;
 
-  public EventController(EventService eventService) {
+  public EventController(
+          EventService eventService,
+          RsvpService rsvpService,
+          TrendingService trendingService,
+          EventImportService importService,
+          EventClusterService clusterService,
+          Validator validator) {
     this.eventService = eventService;
+    this.rsvpService = rsvpService;
+    this.trendingService = trendingService;
+    this.importService = importService;
+    this.clusterService = clusterService;
+    this.validator = validator;
   }
 
   @Operation(summary = "Create a new event", description = "Creates a new event with the provided details")
@@ -30,38 +77,314 @@ public class EventController {
   })
   @PostMapping
   public ResponseEntity<Event> createEvent(@Valid @RequestBody EventRequest eventRequest) {
-    Event event = eventService.createEvent(
-            eventRequest.getTitle(),
-            eventRequest.getDescription(),
-            eventRequest.getDate(),
-            eventRequest.getLocation(),
-            eventRequest.getCategory());
+    Event event = eventService.createEvent(toEvent(eventRequest));
     return ResponseEntity.ok(event);
   }
 
-  @Operation(summary = "Get all events", description = "Retrieves a list of all events")
+  @Operation(
+          summary = "Update an event",
+          description = "Replaces the details of an event; the groups linked to it show the new details right away")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Event updated successfully"),
+          @ApiResponse(responseCode = "400", description = "Invalid input parameters or event not found")
+  })
+  @PutMapping("/{eventId}")
+  public ResponseEntity<Event> updateEvent(
+          @PathVariable String eventId, @Valid @RequestBody EventRequest eventRequest) {
+    return ResponseEntity.ok(eventService.updateEvent(eventId, toEvent(eventRequest)));
+  }
+
+  @Operation(
+          summary = "Create events in bulk",
+          description = "Validates and creates up to " + EventService.MAX_BATCH_EVENTS + " events at once. "
+                  + "Invalid events are reported individually and do not prevent the others from being created")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Batch processed; see the outcome of each event"),
+          @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+  })
+  @PostMapping("/batch")
+  public ResponseEntity<EventBatchResult> createEvents(@RequestBody List<EventRequest> eventRequests) {
+    if (eventRequests.isEmpty() || eventRequests.size() > EventService.MAX_BATCH_EVENTS) {
+      throw new IllegalArgumentException(
+              "A batch must contain between 1 and " + EventService.MAX_BATCH_EVENTS + " events");
+    }
+    int count = eventRequests.size();
+    String[] errors = new String[count];
+    Event[] events = new Event[count];
+    IntStream.range(0, count).parallel().forEach(i -> {
+      EventRequest eventRequest = eventRequests.get(i);
+      if (eventRequest == null) {
+        errors[i] = "Event is required";
+        return;
+      }
+      Set<ConstraintViolation<EventRequest>> violations = validator.validate(eventRequest);
+      if (!violations.isEmpty()) {
+        errors[i] = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return;
+      }
+      try {
+        events[i] = toEvent(eventRequest);
+      } catch (IllegalArgumentException e) {
+        errors[i] = e.getMessage();
+      }
+    });
+
+    // Only valid requests reach the service; its item indexes are mapped back to request positions.
+    List<Event> valid = new ArrayList<>(count);
+    List<Integer> positions = new ArrayList<>(count);
+    EventBatchItem[] items = new EventBatchItem[count];
+    for (int i = 0; i < count; i++) {
+      if (errors[i] != null) {
+        items[i] = new EventBatchItem(i, null, errors[i]);
+      } else {
+        valid.add(events[i]);
+        positions.add(i);
+      }
+    }
+    for (EventBatchItem item : eventService.createEvents(valid)) {
+      int position = positions.get(item.getIndex());
+      item.setIndex(position);
+      items[position] = item;
+    }
+    return ResponseEntity.ok(new EventBatchResult(Arrays.asList(items)));
+  }
+
+  @Operation(
+          summary = "Import events from a file",
+          description = "Starts a background import of a CSV file (header with title, date, location and optionally "
+                  + "description, category, latitude, longitude, capacity) or an iCalendar file. "
+                  + "Progress is reported by the import status endpoint")
+  @ApiResponses({
+          @ApiResponse(responseCode = "202", description = "Import started"),
+          @ApiResponse(responseCode = "400", description = "Empty or unsupported file, or too many imports running")
+  })
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<EventImportJob> importEvents(@RequestParam("file") MultipartFile file) throws IOException {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.startImport(file));
+  }
+
+  @Operation(summary = "Get import status", description = "Progress and rejected records of an event import")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Import status retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Import not found")
+  })
+  @GetMapping("/import/{jobId}")
+  public ResponseEntity<EventImportJob> getImport(@PathVariable String jobId) {
+    return ResponseEntity.ok(importService.getJob(jobId));
+  }
+
+  @Operation(
+          summary = "Get all events",
+          description = "Retrieves a list of all events, optionally including archived past events")
   @ApiResponse(responseCode = "200", description = "List of events retrieved successfully")
   @GetMapping
-  public ResponseEntity<List<Event>> getEvents() {
-    return ResponseEntity.ok(eventService.getEvents());
+  public ResponseEntity<List<Event>> getEvents(@RequestParam(defaultValue = "false") boolean includeArchived) {
+    return ResponseEntity.ok(eventService.getEvents(includeArchived));
   }
 
-  @Operation(summary = "Get events by category", description = "Retrieves events filtered by category")
+  @Operation(
+          summary = "Get events by category",
+          description = "Retrieves events filtered by category, optionally including archived past events")
   @GetMapping("/category/{category}")
-  public ResponseEntity<List<Event>> getEventsByCategory(@PathVariable String category) {
-    return ResponseEntity.ok(eventService.getEventsByCategory(category));
+  public ResponseEntity<List<Event>> getEventsByCategory(
+          @PathVariable String category, @RequestParam(defaultValue = "false") boolean includeArchived) {
+    return ResponseEntity.ok(eventService.getEventsByCategory(category, includeArchived));
   }
 
-  @Operation(summary = "Get upcoming events", description = "Retrieves events from today onwards")
+  @Operation(
+          summary = "Get upcoming events",
+          description = "Retrieves events after today, optionally filtered by category and date range")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Upcoming events retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Invalid date range")
+  })
   @GetMapping("/upcoming")
-  public ResponseEntity<List<Event>> getUpcomingEvents() {
-    return ResponseEntity.ok(eventService.getUpcomingEvents());
+  public ResponseEntity<List<Event>> getUpcomingEvents(
+          @RequestParam(required = false) String category,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(eventService.getUpcomingEvents(category, from, to));
+  }
+
+  @Operation(
+          summary = "Browse events",
+          description = "Retrieves one page of events, optionally filtered by category and date range, "
+                  + "with event counts per category and per month")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Events and facet counts retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Invalid date range or paging parameters")
+  })
+  @GetMapping("/browse")
+  public ResponseEntity<EventBrowsePage> browseEvents(
+          @RequestParam(required = false) String category,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(eventService.browseEvents(category, from, to, page, size));
+  }
+
+  @Operation(
+          summary = "Get trending events",
+          description = "Events ranked by recent group creations, joins and RSVPs, with older activity "
+                  + "counting less. The ranking is refreshed in the background every minute")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Trending events retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Invalid limit")
+  })
+  @GetMapping("/trending")
+  public ResponseEntity<List<TrendingEvent>> getTrendingEvents(@RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(trendingService.getTrending(limit));
+  }
+
+  @Operation(
+          summary = "Search events",
+          description = "Full-text search over event title, location and description, ranked by relevance")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Empty query or invalid paging parameters")
+  })
+  @GetMapping("/search")
+  public ResponseEntity<Page<Event>> searchEvents(
+          @RequestParam String q,
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(eventService.searchEvents(q, page, size));
+  }
+
+  @Operation(
+          summary = "Suggest events",
+          description = "Autocompletes event titles and locations from an in-memory index, tolerating small typos")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Empty prefix or invalid limit")
+  })
+  @GetMapping("/suggest")
+  public ResponseEntity<List<EventSummary>> suggestEvents(
+          @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(eventService.suggestEvents(prefix, limit));
+  }
+
+  @Operation(
+          summary = "Find events near a point",
+          description = "Retrieves events within a radius of the given coordinates, nearest first, "
+                  + "optionally restricted to a date range")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Nearby events retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or date range")
+  })
+  @GetMapping("/near")
+  public ResponseEntity<List<NearbyEvent>> getEventsNear(
+          @RequestParam double lat,
+          @RequestParam double lng,
+          @RequestParam(defaultValue = "10") double radiusKm,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(eventService.findEventsNear(lat, lng, radiusKm, from, to));
+  }
+
+  @Operation(
+          summary = "Get event clusters for a map view",
+          description = "Groups the events inside a bounding box into geohash cells sized for the zoom level "
+                  + "and returns each cell's centroid and event count")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Event clusters retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Invalid bounding box or zoom level")
+  })
+  @GetMapping("/map")
+  public ResponseEntity<List<EventCluster>> getEventMap(@RequestParam String bbox, @RequestParam int zoom) {
+    return ResponseEntity.ok(clusterService.getClusters(bbox, zoom));
+  }
+
+  @Operation(
+          summary = "RSVP to an event",
+          description = "Holds a place for the user for a few minutes; the hold must then be confirmed")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Place held, or the user's existing reservation"),
+          @ApiResponse(responseCode = "400", description = "Event not found or full")
+  })
+  @PostMapping("/{eventId}/rsvp")
+  public ResponseEntity<EventReservation> rsvp(@PathVariable String eventId, @RequestParam String userId) {
+    return ResponseEntity.ok(rsvpService.hold(eventId, userId));
+  }
+
+  @Operation(summary = "Confirm an RSVP", description = "Confirms the user's active hold on the event")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Reservation confirmed"),
+          @ApiResponse(responseCode = "400", description = "No reservation or the hold has expired")
+  })
+  @PostMapping("/{eventId}/rsvp/confirm")
+  public ResponseEntity<EventReservation> confirmRsvp(@PathVariable String eventId, @RequestParam String userId) {
+    return ResponseEntity.ok(rsvpService.confirm(eventId, userId));
   }
 
-  @Operation(summary = "Delete event", description = "Deletes an event by ID")
+  @Operation(summary = "Cancel an RSVP", description = "Releases the user's hold or confirmed place")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Reservation cancelled"),
+          @ApiResponse(responseCode = "400", description = "No reservation found")
+  })
+  @DeleteMapping("/{eventId}/rsvp")
+  public ResponseEntity<Map<String, String>> cancelRsvp(@PathVariable String eventId, @RequestParam String userId) {
+    rsvpService.cancel(eventId, userId);
+    return ResponseEntity.ok(Map.of("message", "Reservation cancelled"));
+  }
+
+  @Operation(summary = "Get event availability", description = "Number of places still available for the event")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Availability retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Event not found")
+  })
+  @GetMapping("/{eventId}/availability")
+  public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable String eventId) {
+    // remaining is null for events without a capacity limit
+    Map<String, Object> availability = new LinkedHashMap<>();
+    availability.put("eventId", eventId);
+    availability.put("remaining", rsvpService.getRemainingPlaces(eventId).orElse(null));
+    return ResponseEntity.ok(availability);
+  }
+
+  @Operation(
+          summary = "Delete event",
+          description = "Deletes an event by ID. Its groups and their memberships are removed in the background; "
+                  + "the returned job can be polled for progress")
+  @ApiResponses({
+          @ApiResponse(responseCode = "202", description = "Event deleted, group cleanup started"),
+          @ApiResponse(responseCode = "400", description = "Event not found")
+  })
   @DeleteMapping("/{eventId}")
-  public ResponseEntity<Void> deleteEvent(@PathVariable String eventId) {
-    eventService.deleteEvent(eventId);
-    return ResponseEntity.ok().build();
+  public ResponseEntity<EventDeletionJob> deleteEvent(@PathVariable String eventId) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(eventService.deleteEvent(eventId));
+  }
+
+  @Operation(summary = "Get deletion status", description = "Progress of the group cleanup after an event deletion")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Deletion status retrieved successfully"),
+          @ApiResponse(responseCode = "400", description = "Deletion not found")
+  })
+  @GetMapping("/deletions/{jobId}")
+  public ResponseEntity<EventDeletionJob> getDeletion(@PathVariable String jobId) {
+    return ResponseEntity.ok(eventService.getDeletionJob(jobId));
+  }
+
+  private Event toEvent(EventRequest eventRequest) {
+    Event event = new Event(
+            eventRequest.getTitle(),
+            eventRequest.getDescription(),
+            eventRequest.getDate(),
+            eventRequest.getLocation(),
+            eventRequest.getCategory());
+
+    if ((eventRequest.getLatitude() == null) != (eventRequest.getLongitude() == null)) {
+      throw new IllegalArgumentException("Latitude and longitude must be provided together");
+    }
+    if (eventRequest.getLatitude() != null) {
+      event.setGeoLocation(new GeoJsonPoint(eventRequest.getLongitude(), eventRequest.getLatitude()));
+    }
+    event.setCapacity(eventRequest.getCapacity());
+    event.setRecurrence(eventRequest.getRecurrence());
+    return event;
   }
-}
\ No newline at end of file
+}
@@ -1,27 +1,45 @@
 package com.ieti.proyectoieti.controllers;
 
 import com.ieti.proyectoieti.controllers.dto.GroupRequest;
+import com.ieti.proyectoieti.controllers.dto.InviteRequest;
 import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.GroupView;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.ieti.proyectoieti.services.CalendarService;
+import com.ieti.proyectoieti.services.CalendarService.CalendarFeed;
 import com.ieti.proyectoieti.services.GroupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/groups")
 @Tag(name = "Groups", description = "Group management APIs")
 public class GroupController {
 
+    private static final String EXPAND_MEMBERS = "members";
+    private static final String EXPAND_EVENT = "event";
+
+    private static final MediaType CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
     private final GroupService groupService;
+    private final CalendarService calendarService;
 
-    public GroupController(GroupService groupService) {
+    public GroupController(GroupService groupService, CalendarService calendarService) {
         this.groupService = groupService;
+        this.calendarService = calendarService;
     }
 
     @Operation(summary = "Create a new group", description = "Creates a new group for event participation")
@@ -40,16 +58,53 @@ public class GroupController {
         return ResponseEntity.ok(group);
     }
 
-    @Operation(summary = "Get group by ID", description = "Retrieves a group by its ID")
+    @Operation(summary = "Get group by ID",
+            description = "Retrieves a group by its ID. Use expand=members,event to resolve member profiles "
+                    + "and the linked event in the same request")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Group retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported expand value"),
             @ApiResponse(responseCode = "404", description = "Group not found")
     })
     @GetMapping("/{groupId}")
-    public ResponseEntity<Group> getGroupById(@PathVariable String groupId) {
-        Group group = groupService.getGroupById(groupId)
+    public ResponseEntity<?> getGroupById(
+            @PathVariable String groupId,
+            @RequestParam(required = false) List<String> expand) {
+        if (expand == null || expand.isEmpty()) {
+            Group group = groupService.getGroupById(groupId)
+                    .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
+            return ResponseEntity.ok(group);
+        }
+
+        for (String value : expand) {
+            if (!EXPAND_MEMBERS.equals(value) && !EXPAND_EVENT.equals(value)) {
+                throw new IllegalArgumentException("Unsupported expand value: " + value);
+            }
+        }
+
+        GroupView view = groupService.getGroupView(
+                        groupId, expand.contains(EXPAND_MEMBERS), expand.contains(EXPAND_EVENT))
                 .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
-        return ResponseEntity.ok(group);
+        return ResponseEntity.ok(view);
+    }
+
+    @Operation(summary = "Get group calendar",
+            description = "iCalendar feed of the event linked to the group. Supports If-None-Match and "
+                    + "If-Modified-Since")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Calendar streamed successfully"),
+            @ApiResponse(responseCode = "304", description = "Calendar unchanged since the given validator"),
+            @ApiResponse(responseCode = "400", description = "Group not found")
+    })
+    @GetMapping(value = "/{groupId}/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> getGroupCalendar(@PathVariable String groupId, WebRequest request) {
+        CalendarFeed feed = calendarService.getGroupCalendar(groupId);
+        if (request.checkNotModified(feed.getEtag(), feed.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(CALENDAR)
+                .body(outputStream -> calendarService.writeCalendar(feed, outputStream));
     }
 
     @Operation(summary = "Get group by invite code", description = "Retrieves a group by its invite code")
@@ -87,11 +142,28 @@ public class GroupController {
         return ResponseEntity.ok(groups);
     }
 
-    @Operation(summary = "Get groups by event", description = "Retrieves all groups for a specific event")
+    @Operation(summary = "Get groups by event",
+            description = "Retrieves all groups for a specific event, optionally including archived groups")
     @ApiResponse(responseCode = "200", description = "Groups retrieved successfully")
     @GetMapping("/event/{eventId}")
-    public ResponseEntity<List<Group>> getGroupsByEvent(@PathVariable String eventId) {
-        List<Group> groups = groupService.getGroupsByEvent(eventId);
+    public ResponseEntity<List<Group>> getGroupsByEvent(
+            @PathVariable String eventId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Group> groups = groupService.getGroupsByEvent(eventId, includeArchived);
+        return ResponseEntity.ok(groups);
+    }
+
+    @Operation(summary = "Get open groups by event",
+            description = "Retrieves the groups of an event that still have space, fullest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Groups retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    @GetMapping("/event/{eventId}/open")
+    public ResponseEntity<List<Group>> getOpenGroupsByEvent(
+            @PathVariable String eventId,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<Group> groups = groupService.getOpenGroupsByEvent(eventId, limit);
         return ResponseEntity.ok(groups);
     }
 
@@ -127,6 +199,41 @@ public class GroupController {
         return ResponseEntity.ok(group);
     }
 
+    @Operation(summary = "Join group waitlist", description = "Queues a user for a slot in a full group")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "User added to the waitlist"),
+            @ApiResponse(responseCode = "400", description = "Waitlist disabled, group has space or user already queued"),
+            @ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    @PostMapping("/{groupId}/waitlist/{userId}")
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@PathVariable String groupId, @PathVariable String userId) {
+        WaitlistEntry entry = groupService.joinWaitlist(groupId, userId);
+        return ResponseEntity.ok(entry);
+    }
+
+    @Operation(summary = "Get waitlist position", description = "Returns the 1-based position of a user in the group waitlist")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Position retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "User is not on the waitlist")
+    })
+    @GetMapping("/{groupId}/waitlist/{userId}")
+    public ResponseEntity<Map<String, Object>> getWaitlistPosition(
+            @PathVariable String groupId, @PathVariable String userId) {
+        long position = groupService.getWaitlistPosition(groupId, userId);
+        return ResponseEntity.ok(Map.of("groupId", groupId, "userId", userId, "position", position));
+    }
+
+    @Operation(summary = "Leave group waitlist", description = "Removes a user from the group waitlist")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "User removed from the waitlist"),
+            @ApiResponse(responseCode = "400", description = "User is not on the waitlist")
+    })
+    @DeleteMapping("/{groupId}/waitlist/{userId}")
+    public ResponseEntity<Map<String, String>> leaveWaitlist(@PathVariable String groupId, @PathVariable String userId) {
+        groupService.leaveWaitlist(groupId, userId);
+        return ResponseEntity.ok(Map.of("message", "User removed from waitlist"));
+    }
+
     @Operation(summary = "Update group", description = "Updates group information")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Group updated successfully"),
@@ -141,7 +248,8 @@ public class GroupController {
                 groupId,
                 groupRequest.getName(),
                 groupRequest.getDescription(),
-                groupRequest.getMaxMembers()
+                groupRequest.getMaxMembers(),
+                groupRequest.getWaitlistEnabled()
         );
         return ResponseEntity.ok(group);
     }
@@ -157,6 +265,38 @@ public class GroupController {
         return ResponseEntity.ok(Map.of("inviteCode", newInviteCode));
     }
 
+    @Operation(summary = "Create time-limited invite",
+            description = "Issues an invite code that expires after a number of hours or uses")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Invite created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters"),
+            @ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    @PostMapping("/{groupId}/invites")
+    public ResponseEntity<GroupInvite> createInvite(
+            @PathVariable String groupId,
+            @Valid @RequestBody(required = false) InviteRequest inviteRequest) {
+        InviteRequest request = inviteRequest != null ? inviteRequest : new InviteRequest();
+        GroupInvite invite = groupService.createInvite(groupId, request.getMaxUses(), request.getExpiresInHours());
+        return ResponseEntity.ok(invite);
+    }
+
+    @Operation(summary = "Create signed invite link",
+            description = "Issues a signed invite token that can be used in place of the invite code until it "
+                    + "expires or the invite code is regenerated")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Invite token created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters"),
+            @ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    @PostMapping("/{groupId}/invite-token")
+    public ResponseEntity<Map<String, String>> createInviteToken(
+            @PathVariable String groupId,
+            @RequestParam(required = false) Integer expiresInHours) {
+        String token = groupService.createInviteToken(groupId, expiresInHours);
+        return ResponseEntity.ok(Map.of("inviteToken", token));
+    }
+
     @Operation(summary = "Delete group", description = "Deletes a group from the system")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Group deleted successfully"),
@@ -1,25 +1,41 @@
 package com.ieti.proyectoieti.controllers;
 
+import com.ieti.proyectoieti.models.RecommendedEvent;
 import com.ieti.proyectoieti.models.User;
+import com.ieti.proyectoieti.services.CalendarService;
+import com.ieti.proyectoieti.services.CalendarService.CalendarFeed;
+import com.ieti.proyectoieti.services.RecommendationService;
 import com.ieti.proyectoieti.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/users")
 @Tag(name = "Users", description = "User management APIs")
 public class UserController {
 
+    private static final MediaType CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
     private final UserService userService;
+    private final CalendarService calendarService;
+    private final RecommendationService recommendationService;
 
-    public UserController(UserService userService) {
+    public UserController(
+            UserService userService, CalendarService calendarService, RecommendationService recommendationService) {
         this.userService = userService;
+        this.calendarService = calendarService;
+        this.recommendationService = recommendationService;
     }
 
     @Operation(summary = "Get current user profile", description = "Retrieves the authenticated user's profile")
@@ -43,6 +59,34 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Operation(summary = "Get user calendar",
+            description = "iCalendar feed of the events linked to every group the user belongs to. "
+                    + "Supports If-None-Match and If-Modified-Since")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Calendar streamed successfully"),
+            @ApiResponse(responseCode = "304", description = "Calendar unchanged since the given validator"),
+            @ApiResponse(responseCode = "400", description = "User not found")
+    })
+    @GetMapping(value = "/{userId}/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> getUserCalendar(@PathVariable String userId, WebRequest request) {
+        CalendarFeed feed = calendarService.getUserCalendar(userId);
+        if (request.checkNotModified(feed.getEtag(), feed.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(CALENDAR)
+                .body(outputStream -> calendarService.writeCalendar(feed, outputStream));
+    }
+
+    @Operation(summary = "Get recommended events",
+            description = "Upcoming events attended by the people the user shares groups with, most shared first. "
+                    + "Recommendations are recomputed periodically")
+    @ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully")
+    @GetMapping("/{userId}/recommended-events")
+    public ResponseEntity<List<RecommendedEvent>> getRecommendedEvents(@PathVariable String userId) {
+        return ResponseEntity.ok(recommendationService.getRecommendations(userId));
+    }
+
     @Operation(summary = "Get users by group", description = "Retrieves all users belonging to a specific group")
     @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
     @GetMapping("/group/{groupId}")
@@ -1,7 +1,12 @@
 package com.ieti.proyectoieti.controllers.dto;
 
+import com.ieti.proyectoieti.models.RecurrenceRule;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -32,6 +37,24 @@ public class EventRequest {
     @Schema(description = "Category or type of the event", example = "Meeting", defaultValue = "General")
     private String category = "General";
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Schema(description = "Latitude of the venue, required together with longitude", example = "4.6097")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Schema(description = "Longitude of the venue, required together with latitude", example = "-74.0817")
+    private Double longitude;
+
+    @Min(value = 1, message = "Capacity must be at least 1")
+    @Max(value = 100000, message = "Capacity must not exceed 100000")
+    @Schema(description = "Maximum number of attendees; unlimited when omitted", example = "50")
+    private Integer capacity;
+
+    @Schema(description = "Optional recurrence rule, starting on the event date")
+    private RecurrenceRule recurrence;
+
     // Getters and setters
     public String getTitle() {
         return title;
@@ -72,4 +95,36 @@ public class EventRequest {
     public void setCategory(String category) {
         this.category = category;
     }
-}
\ No newline at end of file
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public RecurrenceRule getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(RecurrenceRule recurrence) {
+        this.recurrence = recurrence;
+    }
+}
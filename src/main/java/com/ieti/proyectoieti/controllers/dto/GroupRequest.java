@@ -24,6 +24,9 @@ public class GroupRequest {
     @Schema(description = "Maximum number of members allowed in the group", example = "10", minimum = "1", maximum = "100")
     private Integer maxMembers;
 
+    @Schema(description = "Whether users can join a waitlist when the group is full", example = "true")
+    private Boolean waitlistEnabled;
+
     // Getters and setters
     public String getName() {
         return name;
@@ -64,4 +67,12 @@ public class GroupRequest {
     public void setMaxMembers(Integer maxMembers) {
         this.maxMembers = maxMembers;
     }
-}
\ No newline at end of file
+
+    public Boolean getWaitlistEnabled() {
+        return waitlistEnabled;
+    }
+
+    public void setWaitlistEnabled(Boolean waitlistEnabled) {
+        this.waitlistEnabled = waitlistEnabled;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ieti.proyectoieti.controllers.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public class InviteRequest {
+
+    @Min(value = 1, message = "An invite must allow at least one use")
+    @Max(value = 1000, message = "An invite cannot allow more than 1000 uses")
+    @Schema(description = "Number of joins allowed with the invite", example = "1", defaultValue = "1")
+    private Integer maxUses;
+
+    @Min(value = 1, message = "An invite must be valid for at least one hour")
+    @Max(value = 720, message = "An invite cannot be valid for more than 30 days")
+    @Schema(description = "Hours until the invite expires", example = "24", defaultValue = "24")
+    private Integer expiresInHours;
+
+    // Getters and setters
+    public Integer getMaxUses() {
+        return maxUses;
+    }
+
+    public void setMaxUses(Integer maxUses) {
+        this.maxUses = maxUses;
+    }
+
+    public Integer getExpiresInHours() {
+        return expiresInHours;
+    }
+
+    public void setExpiresInHours(Integer expiresInHours) {
+        this.expiresInHours = expiresInHours;
+    }
+}
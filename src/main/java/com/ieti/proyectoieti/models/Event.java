@@ -1,12 +1,24 @@
 package com.ieti.proyectoieti.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 @Document(collection = "events")
+@CompoundIndexes({
+  @CompoundIndex(name = "geo_location_date_idx", def = "{'geoLocation': '2dsphere', 'date': 1}"),
+  @CompoundIndex(name = "category_date_idx", def = "{'category': 1, 'date': 1}"),
+  @CompoundIndex(name = "date_category_idx", def = "{'date': 1, 'category': 1}")
+})
 @Schema(description = "Event entity representing an event in the system")
 public class Event {
   @Id
@@ -21,12 +33,14 @@ public class Event {
           example = "Team Meeting",
           required = true,
           maxLength = 100)
+  @TextIndexed(weight = 10)
   private String title;
 
   @Schema(
           description = "Detailed description of the event",
           example = "Weekly team sync meeting to discuss project progress",
           maxLength = 500)
+  @TextIndexed(weight = 2)
   private String description;
 
   @Schema(description = "Date when the event will occur", example = "2024-12-25", required = true)
@@ -37,6 +51,7 @@ public class Event {
           example = "Conference Room A",
           required = true,
           maxLength = 200)
+  @TextIndexed(weight = 5)
   private String location;
 
   @Schema(
@@ -46,12 +61,34 @@ public class Event {
           defaultValue = "General")
   private String category;
 
+  @Schema(
+          description = "Optional GeoJSON point of the event venue, used for proximity search",
+          example = "{\"type\": \"Point\", \"coordinates\": [-74.0817, 4.6097]}")
+  private GeoJsonPoint geoLocation;
+
+  @Schema(description = "Maximum number of attendees; unlimited when omitted", example = "50")
+  private Integer capacity;
+
+  @Schema(description = "Optional recurrence rule; the event date is then the first occurrence of the series")
+  private RecurrenceRule recurrence;
+
   @Schema(
           description = "Timestamp when the event was created in the system",
           example = "2024-01-15",
           accessMode = Schema.AccessMode.READ_ONLY)
   private LocalDate createdAt;
 
+  @Schema(
+          description = "Timestamp of the last change to the event",
+          accessMode = Schema.AccessMode.READ_ONLY)
+  private LocalDateTime updatedAt;
+
+  @TextScore
+  @Schema(
+          description = "Relevance score, only present on full-text search results",
+          accessMode = Schema.AccessMode.READ_ONLY)
+  private Float score;
+
   /**
    * Default constructor for Event entity.
    * Required for MongoDB document mapping and object deserialization.
@@ -68,6 +105,7 @@ public class Event {
     this.location = location;
     this.category = category != null ? category : "General";
     this.createdAt = LocalDate.now();
+    this.updatedAt = LocalDateTime.now();
   }
 
   // Getters and setters with schema annotations
@@ -125,6 +163,49 @@ public class Event {
     this.category = category;
   }
 
+  @Schema(description = "Event coordinates as a GeoJSON point (longitude, latitude)")
+  public GeoJsonPoint getGeoLocation() {
+    return geoLocation;
+  }
+
+  public void setGeoLocation(GeoJsonPoint geoLocation) {
+    this.geoLocation = geoLocation;
+  }
+
+  public Integer getCapacity() {
+    return capacity;
+  }
+
+  public void setCapacity(Integer capacity) {
+    this.capacity = capacity;
+  }
+
+  public RecurrenceRule getRecurrence() {
+    return recurrence;
+  }
+
+  public void setRecurrence(RecurrenceRule recurrence) {
+    this.recurrence = recurrence;
+  }
+
+  /** Copy of this event dated on one of its occurrences, sharing the series id. */
+  public Event occurrenceOn(LocalDate occurrenceDate) {
+    Event occurrence = new Event();
+    occurrence.id = id;
+    occurrence.title = title;
+    occurrence.description = description;
+    occurrence.date = occurrenceDate;
+    occurrence.location = location;
+    occurrence.category = category;
+    occurrence.geoLocation = geoLocation;
+    occurrence.capacity = capacity;
+    occurrence.recurrence = recurrence;
+    occurrence.createdAt = createdAt;
+    occurrence.updatedAt = updatedAt;
+    occurrence.score = score;
+    return occurrence;
+  }
+
   @Schema(description = "Creation timestamp", accessMode = Schema.AccessMode.READ_ONLY)
   public LocalDate getCreatedAt() {
     return createdAt;
@@ -134,6 +215,23 @@ public class Event {
     this.createdAt = createdAt;
   }
 
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public Float getScore() {
+    return score;
+  }
+
+  public void setScore(Float score) {
+    this.score = score;
+  }
+
   @Override
   public String toString() {
     return "Event{"
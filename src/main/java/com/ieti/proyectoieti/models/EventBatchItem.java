@@ -0,0 +1,52 @@
+package com.ieti.proyectoieti.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one event of a batch, in the position it had in the request")
+public class EventBatchItem {
+  @Schema(description = "Zero-based position of the event in the request", example = "0")
+  private int index;
+
+  @Schema(description = "Identifier of the created event, absent when it was rejected",
+          example = "123e4567-e89b-12d3-a456-426614174000")
+  private String eventId;
+
+  @Schema(description = "Why the event was rejected, absent when it was created", example = "Title is required")
+  private String error;
+
+  public EventBatchItem() {
+    // Default constructor for object deserialization
+  }
+
+  public EventBatchItem(int index, String eventId, String error) {
+    this.index = index;
+    this.eventId = eventId;
+    this.error = error;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public void setEventId(String eventId) {
+    this.eventId = eventId;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+}
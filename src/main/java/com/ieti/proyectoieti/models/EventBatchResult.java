@@ -0,0 +1,50 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Result of a batch of event creations")
+public class EventBatchResult {
+  @Schema(description = "Number of events created", example = "998")
+  private int created;
+
+  @Schema(description = "Number of events rejected", example = "2")
+  private int failed;
+
+  @Schema(description = "Outcome of every event, in request order")
+  private List<EventBatchItem> items;
+
+  public EventBatchResult() {
+    // Default constructor for object deserialization
+  }
+
+  public EventBatchResult(List<EventBatchItem> items) {
+    this.items = items;
+    this.created = (int) items.stream().filter(item -> item.getEventId() != null).count();
+    this.failed = items.size() - created;
+  }
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public List<EventBatchItem> getItems() {
+    return items;
+  }
+
+  public void setItems(List<EventBatchItem> items) {
+    this.items = items;
+  }
+}
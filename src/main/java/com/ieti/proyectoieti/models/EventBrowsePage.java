@@ -0,0 +1,62 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "One page of browsed events together with the facet counts of the filter")
+public class EventBrowsePage {
+  @Schema(description = "Events of the requested page, ordered by date")
+  private List<Event> content;
+
+  @Schema(description = "Zero-based page number", example = "0")
+  private int page;
+
+  @Schema(description = "Page size", example = "20")
+  private int size;
+
+  @Schema(description = "Counts per category and month for the whole filter, not just this page")
+  private EventFacets facets;
+
+  public EventBrowsePage() {
+    // Default constructor for object deserialization
+  }
+
+  public EventBrowsePage(List<Event> content, int page, int size, EventFacets facets) {
+    this.content = content;
+    this.page = page;
+    this.size = size;
+    this.facets = facets;
+  }
+
+  public List<Event> getContent() {
+    return content;
+  }
+
+  public void setContent(List<Event> content) {
+    this.content = content;
+  }
+
+  public int getPage() {
+    return page;
+  }
+
+  public void setPage(int page) {
+    this.page = page;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  public EventFacets getFacets() {
+    return facets;
+  }
+
+  public void setFacets(EventFacets facets) {
+    this.facets = facets;
+  }
+}
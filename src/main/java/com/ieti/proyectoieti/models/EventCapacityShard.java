@@ -0,0 +1,69 @@
+package com.ieti.proyectoieti.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One slice of an event's remaining capacity. Splitting the counter over several documents lets
+ * concurrent RSVPs for a popular event decrement different documents instead of queueing on one.
+ */
+@Document(collection = "event_capacity")
+public class EventCapacityShard {
+    @Id
+    private String id;
+
+    @Indexed
+    private String eventId;
+
+    private int shard;
+
+    private int remaining;
+
+    public EventCapacityShard() {
+        // Default constructor for MongoDB
+    }
+
+    public EventCapacityShard(String eventId, int shard, int remaining) {
+        this.id = idOf(eventId, shard);
+        this.eventId = eventId;
+        this.shard = shard;
+        this.remaining = remaining;
+    }
+
+    public static String idOf(String eventId, int shard) {
+        return eventId + ":" + shard;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(int remaining) {
+        this.remaining = remaining;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Events of one geohash cell of the map, reduced to their centroid and count")
+public class EventCluster {
+  @Schema(description = "Geohash of the grid cell", example = "d2g6f")
+  private String geohash;
+
+  @Schema(description = "Mean latitude of the events in the cell", example = "4.6097")
+  private double latitude;
+
+  @Schema(description = "Mean longitude of the events in the cell", example = "-74.0817")
+  private double longitude;
+
+  @Schema(description = "Number of events in the cell", example = "12")
+  private long count;
+
+  public EventCluster() {
+    // Default constructor for object deserialization
+  }
+
+  public EventCluster(String geohash, double latitude, double longitude, long count) {
+    this.geohash = geohash;
+    this.latitude = latitude;
+    this.longitude = longitude;
+    this.count = count;
+  }
+
+  public String getGeohash() {
+    return geohash;
+  }
+
+  public void setGeohash(String geohash) {
+    this.geohash = geohash;
+  }
+
+  public double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(double latitude) {
+    this.latitude = latitude;
+  }
+
+  public double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(double longitude) {
+    this.longitude = longitude;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+}
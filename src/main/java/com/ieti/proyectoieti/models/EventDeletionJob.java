@@ -0,0 +1,86 @@
+package com.ieti.proyectoieti.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Progress of the background cleanup that follows an event deletion. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Status of the cleanup of an event's groups after the event was deleted")
+public class EventDeletionJob {
+
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private final String id;
+  private final String eventId;
+  private final Instant startedAt = Instant.now();
+  private final AtomicLong groupsDeleted = new AtomicLong();
+  private final AtomicLong usersUpdated = new AtomicLong();
+  private volatile Status status = Status.RUNNING;
+  private volatile Instant finishedAt;
+  private volatile String message;
+
+  public EventDeletionJob(String id, String eventId) {
+    this.id = id;
+    this.eventId = eventId;
+  }
+
+  @Schema(description = "Identifier used to poll the cleanup", example = "0b6f0a3e-2a43-4a53-bb4e-7f1c2d3e4f50")
+  public String getId() {
+    return id;
+  }
+
+  @Schema(description = "The deleted event", example = "123e4567-e89b-12d3-a456-426614174000")
+  public String getEventId() {
+    return eventId;
+  }
+
+  @Schema(description = "Current state of the cleanup")
+  public Status getStatus() {
+    return status;
+  }
+
+  @Schema(description = "Groups of the event deleted so far", example = "42")
+  public long getGroupsDeleted() {
+    return groupsDeleted.get();
+  }
+
+  @Schema(description = "Users whose group memberships were removed so far", example = "310")
+  public long getUsersUpdated() {
+    return usersUpdated.get();
+  }
+
+  public Instant getStartedAt() {
+    return startedAt;
+  }
+
+  public Instant getFinishedAt() {
+    return finishedAt;
+  }
+
+  @Schema(description = "Why the cleanup stopped, when it failed")
+  public String getMessage() {
+    return message;
+  }
+
+  public void recordBatch(long groups, long users) {
+    groupsDeleted.addAndGet(groups);
+    usersUpdated.addAndGet(users);
+  }
+
+  public void complete() {
+    finishedAt = Instant.now();
+    status = Status.COMPLETED;
+  }
+
+  public void fail(String message) {
+    this.message = message;
+    finishedAt = Instant.now();
+    status = Status.FAILED;
+  }
+}
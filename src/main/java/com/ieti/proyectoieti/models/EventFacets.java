@@ -0,0 +1,51 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+
+@Schema(description = "Event counts for a browse filter, per category and per month")
+public class EventFacets {
+  @Schema(description = "Number of events in the date range per category, regardless of the selected category",
+          example = "{\"Meeting\": 12, \"Social\": 4}")
+  private Map<String, Long> categories;
+
+  @Schema(description = "Number of matching events per month, keyed as yyyy-MM", example = "{\"2025-01\": 7}")
+  private Map<String, Long> months;
+
+  @Schema(description = "Total number of matching events", example = "16")
+  private long total;
+
+  public EventFacets() {
+    // Default constructor for object deserialization
+  }
+
+  public EventFacets(Map<String, Long> categories, Map<String, Long> months, long total) {
+    this.categories = categories;
+    this.months = months;
+    this.total = total;
+  }
+
+  public Map<String, Long> getCategories() {
+    return categories;
+  }
+
+  public void setCategories(Map<String, Long> categories) {
+    this.categories = categories;
+  }
+
+  public Map<String, Long> getMonths() {
+    return months;
+  }
+
+  public void setMonths(Map<String, Long> months) {
+    this.months = months;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public void setTotal(long total) {
+    this.total = total;
+  }
+}
@@ -0,0 +1,119 @@
+package com.ieti.proyectoieti.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Progress of an event import, updated by the import threads while clients poll it. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Status and progress of an event file import")
+public class EventImportJob {
+
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private static final int MAX_ERRORS = 100;
+
+  private final String id;
+  private final String fileName;
+  private final String format;
+  private final Instant startedAt = Instant.now();
+  private final AtomicLong read = new AtomicLong();
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final List<String> errors = new CopyOnWriteArrayList<>();
+  private volatile Status status = Status.RUNNING;
+  private volatile Instant finishedAt;
+  private volatile String message;
+
+  public EventImportJob(String id, String fileName, String format) {
+    this.id = id;
+    this.fileName = fileName;
+    this.format = format;
+  }
+
+  @Schema(description = "Identifier used to poll the import", example = "5f0c6a52-8f3e-4c1e-9d47-2b7e1d1c0a9e")
+  public String getId() {
+    return id;
+  }
+
+  @Schema(description = "Name of the uploaded file", example = "season-2025.csv")
+  public String getFileName() {
+    return fileName;
+  }
+
+  @Schema(description = "Format the file is read as", example = "CSV", allowableValues = {"CSV", "ICS"})
+  public String getFormat() {
+    return format;
+  }
+
+  @Schema(description = "Current state of the import")
+  public Status getStatus() {
+    return status;
+  }
+
+  @Schema(description = "Records read from the file so far", example = "1200")
+  public long getRead() {
+    return read.get();
+  }
+
+  @Schema(description = "Events created so far", example = "1180")
+  public long getCreated() {
+    return created.get();
+  }
+
+  @Schema(description = "Records rejected so far", example = "20")
+  public long getFailed() {
+    return failed.get();
+  }
+
+  @Schema(description = "First rejected records, each prefixed with the line it starts on")
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  public Instant getStartedAt() {
+    return startedAt;
+  }
+
+  public Instant getFinishedAt() {
+    return finishedAt;
+  }
+
+  @Schema(description = "Why the import stopped early, when it failed")
+  public String getMessage() {
+    return message;
+  }
+
+  public void recordRead() {
+    read.incrementAndGet();
+  }
+
+  public void recordCreated() {
+    created.incrementAndGet();
+  }
+
+  public void recordFailure(long line, String error) {
+    failed.incrementAndGet();
+    if (errors.size() < MAX_ERRORS) {
+      errors.add("Line " + line + ": " + error);
+    }
+  }
+
+  public void complete() {
+    finishedAt = Instant.now();
+    status = Status.COMPLETED;
+  }
+
+  public void fail(String message) {
+    this.message = message;
+    finishedAt = Instant.now();
+    status = Status.FAILED;
+  }
+}
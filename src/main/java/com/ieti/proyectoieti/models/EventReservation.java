@@ -0,0 +1,137 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A user's place at an event with limited capacity. A reservation starts as a short hold and only
+ * keeps its place once confirmed; confirmed reservations have no expiry.
+ */
+@Document(collection = "event_reservations")
+@CompoundIndexes({
+        @CompoundIndex(name = "event_user_idx", def = "{'eventId': 1, 'userId': 1}", unique = true),
+        @CompoundIndex(name = "status_expires_idx", def = "{'status': 1, 'expiresAt': 1}")
+})
+@Schema(description = "RSVP of a user for an event")
+public class EventReservation {
+
+    public enum Status {
+        HELD,
+        CONFIRMED
+    }
+
+    @Id
+    @Schema(description = "Unique identifier of the reservation", accessMode = Schema.AccessMode.READ_ONLY)
+    private String id;
+
+    @Schema(description = "ID of the reserved event", example = "123e4567-e89b-12d3-a456-426614174000")
+    private String eventId;
+
+    @Schema(description = "ID of the user holding the reservation", example = "user-456")
+    private String userId;
+
+    @Schema(description = "Capacity shard the place was taken from, or -1 for events without a limit",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private int shard;
+
+    @Schema(description = "Whether the place is only held or already confirmed", example = "HELD")
+    private Status status;
+
+    // Expired holds are handed back by RsvpService; the TTL index only removes holds it has missed,
+    // an hour after they lapse.
+    @Indexed(name = "hold_expires_ttl", expireAfterSeconds = 3600)
+    @Schema(description = "Time at which an unconfirmed hold is released", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "Timestamp when the hold was placed", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp when the reservation was confirmed", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime confirmedAt;
+
+    public EventReservation() {
+        // Default constructor for MongoDB
+    }
+
+    public EventReservation(String eventId, String userId, int shard, LocalDateTime expiresAt) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.shard = shard;
+        this.status = Status.HELD;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getConfirmedAt() {
+        return confirmedAt;
+    }
+
+    public void setConfirmedAt(LocalDateTime confirmedAt) {
+        this.confirmedAt = confirmedAt;
+    }
+
+    public boolean isActive() {
+        return status == Status.CONFIRMED || (expiresAt != null && expiresAt.isAfter(LocalDateTime.now()));
+    }
+}
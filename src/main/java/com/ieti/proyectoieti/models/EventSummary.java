@@ -0,0 +1,76 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+
+@Schema(description = "Compact view of an event, limited to the fields shown in group listings")
+public class EventSummary {
+    @Id
+    @Schema(description = "Unique identifier of the event", example = "123e4567-e89b-12d3-a456-426614174000")
+    private String id;
+
+    @Schema(description = "Title of the event", example = "Team Meeting")
+    private String title;
+
+    @Schema(description = "Date when the event will occur", example = "2024-12-25")
+    private LocalDate date;
+
+    @Schema(description = "Location of the event", example = "Conference Room A")
+    private String location;
+
+    @Schema(description = "Category of the event", example = "Meeting")
+    private String category;
+
+    public EventSummary() {
+        // Default constructor for MongoDB
+    }
+
+    public EventSummary(Event event) {
+        this.id = event.getId();
+        this.title = event.getTitle();
+        this.date = event.getDate();
+        this.location = event.getLocation();
+        this.category = event.getCategory();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ieti.proyectoieti.models;
+
+import java.util.Date;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Popularity of an event as a decayed score: {@code score} is the value as of {@code updatedAt}
+ * and keeps decaying afterwards, so readers age it to the current time before comparing.
+ */
+@Document(collection = "event_trends")
+public class EventTrend {
+    @Id
+    private String eventId;
+
+    private double score;
+
+    @Indexed
+    private Date updatedAt;
+
+    public EventTrend() {
+        // Default constructor for MongoDB
+    }
+
+    public EventTrend(String eventId, double score, Date updatedAt) {
+        this.eventId = eventId;
+        this.score = score;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
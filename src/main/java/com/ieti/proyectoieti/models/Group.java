@@ -1,13 +1,20 @@
 package com.ieti.proyectoieti.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "groups")
+@CompoundIndex(
+        name = "event_open_slots_idx",
+        def = "{'eventId': 1, 'openSlots': 1, 'memberCount': -1}",
+        partialFilter = "{'openSlots': {'$gt': 0}}")
 @Schema(description = "Group entity for event participation")
 public class Group {
     @Id
@@ -24,17 +31,36 @@ public class Group {
     private String creatorId;
 
     @Schema(description = "Event ID associated with this group", example = "event-456")
+    @Indexed
     private String eventId;
 
+    @Schema(description = "Title, date and location of the linked event, kept in sync when the event changes", accessMode = Schema.AccessMode.READ_ONLY)
+    private EventSummary event;
+
     @Schema(description = "Unique alphanumeric code for inviting members", example = "ABC123", accessMode = Schema.AccessMode.READ_ONLY)
     private String inviteCode;
 
+    @Schema(description = "Version of the group's invites; bumped on regeneration to revoke signed invite links", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    private int inviteVersion;
+
     @Schema(description = "List of user IDs who are members of this group", accessMode = Schema.AccessMode.READ_ONLY)
     private List<String> memberIds;
 
     @Schema(description = "Maximum number of members allowed in the group", example = "10", defaultValue = "50")
     private int maxMembers;
 
+    @Schema(description = "Number of members currently in the group", example = "4", accessMode = Schema.AccessMode.READ_ONLY)
+    private int memberCount;
+
+    @Schema(description = "Number of member slots still available", example = "6", accessMode = Schema.AccessMode.READ_ONLY)
+    private int openSlots;
+
+    @Schema(description = "Whether users can queue for a slot when the group is full", example = "false", defaultValue = "false")
+    private boolean waitlistEnabled;
+
+    // Last ticket handed out to the waitlist; incremented atomically for each new waiter.
+    private long waitlistSequence;
+
     @Schema(description = "Timestamp when the group was created", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime createdAt;
 
@@ -44,6 +70,7 @@ public class Group {
     public Group() {
         this.memberIds = new ArrayList<>();
         this.maxMembers = 50;
+        this.openSlots = 50;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -61,6 +88,7 @@ public class Group {
         }
 
         this.memberIds.add(creatorId);
+        refreshCounts();
     }
 
     // Getters and setters
@@ -108,6 +136,14 @@ public class Group {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public EventSummary getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventSummary event) {
+        this.event = event;
+    }
+
     public String getInviteCode() {
         return inviteCode;
     }
@@ -116,12 +152,21 @@ public class Group {
         this.inviteCode = inviteCode;
     }
 
+    public int getInviteVersion() {
+        return inviteVersion;
+    }
+
+    public void setInviteVersion(int inviteVersion) {
+        this.inviteVersion = inviteVersion;
+    }
+
     public List<String> getMemberIds() {
         return memberIds;
     }
 
     public void setMemberIds(List<String> memberIds) {
         this.memberIds = memberIds;
+        refreshCounts();
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -131,9 +176,28 @@ public class Group {
 
     public void setMaxMembers(int maxMembers) {
         this.maxMembers = maxMembers;
+        refreshCounts();
         this.updatedAt = LocalDateTime.now();
     }
 
+    public boolean isWaitlistEnabled() {
+        return waitlistEnabled;
+    }
+
+    public void setWaitlistEnabled(boolean waitlistEnabled) {
+        this.waitlistEnabled = waitlistEnabled;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public long getWaitlistSequence() {
+        return waitlistSequence;
+    }
+
+    public void setWaitlistSequence(long waitlistSequence) {
+        this.waitlistSequence = waitlistSequence;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -162,6 +226,7 @@ public class Group {
         }
         if (!this.memberIds.contains(userId)) {
             this.memberIds.add(userId);
+            refreshCounts();
             this.updatedAt = LocalDateTime.now();
             return true;
         }
@@ -170,6 +235,7 @@ public class Group {
     public boolean removeMember(String userId) {
         boolean removed = memberIds.remove(userId);
         if (removed) {
+            refreshCounts();
             this.updatedAt = LocalDateTime.now();
         }
         return removed;
@@ -183,10 +249,21 @@ public class Group {
         return memberIds != null ? memberIds.size() : 0;
     }
 
+    public int getOpenSlots() {
+        return Math.max(0, maxMembers - getMemberCount());
+    }
+
     public boolean hasSpace() {
         return memberIds.size() < maxMembers;
     }
 
+    // memberCount and openSlots are stored so open groups can be found through an index; they are
+    // derived from memberIds and maxMembers and must be refreshed whenever either changes.
+    private void refreshCounts() {
+        this.memberCount = getMemberCount();
+        this.openSlots = getOpenSlots();
+    }
+
     private String generateInviteCode() {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
         StringBuilder code = new StringBuilder();
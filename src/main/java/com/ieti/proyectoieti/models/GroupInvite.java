@@ -0,0 +1,102 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Invite code with an expiry and a limited number of uses. Kept apart from {@link Group} so that
+ * MongoDB's TTL monitor can drop expired codes and the permanent invite code index stays small.
+ */
+@Document(collection = "group_invites")
+@Schema(description = "Time-limited invite code for joining a group")
+public class GroupInvite {
+    @Id
+    @Schema(description = "Invite code shared with the invited users", example = "K7QW2M9XRA", accessMode = Schema.AccessMode.READ_ONLY)
+    private String code;
+
+    @Indexed
+    @Schema(description = "ID of the group the invite grants access to", example = "group-123")
+    private String groupId;
+
+    @Schema(description = "Number of uses the invite was issued with", example = "1")
+    private int maxUses;
+
+    @Schema(description = "Number of joins still allowed with this invite", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private int remainingUses;
+
+    @Indexed(name = "expires_at_ttl", expireAfterSeconds = 0)
+    @Schema(description = "Timestamp after which the invite is no longer valid")
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "Timestamp when the invite was issued", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    public GroupInvite() {
+        // Default constructor for MongoDB
+    }
+
+    public GroupInvite(String code, String groupId, int maxUses, LocalDateTime expiresAt) {
+        this.code = code;
+        this.groupId = groupId;
+        this.maxUses = maxUses;
+        this.remainingUses = maxUses;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    public void setMaxUses(int maxUses) {
+        this.maxUses = maxUses;
+    }
+
+    public int getRemainingUses() {
+        return remainingUses;
+    }
+
+    public void setRemainingUses(int remainingUses) {
+        this.remainingUses = remainingUses;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // The TTL monitor only runs about once a minute, so expiry is also checked on every read.
+    public boolean isUsable() {
+        return remainingUses > 0 && expiresAt != null && expiresAt.isAfter(LocalDateTime.now());
+    }
+}
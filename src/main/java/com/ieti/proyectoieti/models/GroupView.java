@@ -0,0 +1,156 @@
+package com.ieti.proyectoieti.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Read-only projection of a {@link Group} with its members and event resolved in the same
+ * aggregation. Expansions that were not requested are left {@code null} and omitted from JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Group with member profiles and linked event expanded")
+public class GroupView {
+    @Id
+    @Schema(description = "Unique identifier of the group", example = "group-123")
+    private String id;
+
+    @Schema(description = "Name of the group", example = "Team A")
+    private String name;
+
+    @Schema(description = "Description of the group", example = "Group for team A event participation")
+    private String description;
+
+    @Schema(description = "ID of the user who created the group", example = "user-123")
+    private String creatorId;
+
+    @Schema(description = "Event ID associated with this group", example = "event-456")
+    private String eventId;
+
+    @Schema(description = "Unique alphanumeric code for inviting members", example = "ABC123")
+    private String inviteCode;
+
+    @Schema(description = "List of user IDs who are members of this group")
+    private List<String> memberIds;
+
+    @Schema(description = "Maximum number of members allowed in the group", example = "10")
+    private int maxMembers;
+
+    @Schema(description = "Profiles of the group members, present when expand includes members")
+    private List<MemberSummary> members;
+
+    @Schema(description = "Linked event, present when expand includes event")
+    private EventSummary event;
+
+    @Schema(description = "Timestamp when the group was created")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp when the group was last updated")
+    private LocalDateTime updatedAt;
+
+    public GroupView() {
+        // Default constructor for MongoDB
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getCreatorId() {
+        return creatorId;
+    }
+
+    public void setCreatorId(String creatorId) {
+        this.creatorId = creatorId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getInviteCode() {
+        return inviteCode;
+    }
+
+    public void setInviteCode(String inviteCode) {
+        this.inviteCode = inviteCode;
+    }
+
+    public List<String> getMemberIds() {
+        return memberIds;
+    }
+
+    public void setMemberIds(List<String> memberIds) {
+        this.memberIds = memberIds;
+    }
+
+    public int getMaxMembers() {
+        return maxMembers;
+    }
+
+    public void setMaxMembers(int maxMembers) {
+        this.maxMembers = maxMembers;
+    }
+
+    public List<MemberSummary> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<MemberSummary> members) {
+        this.members = members;
+    }
+
+    public EventSummary getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventSummary event) {
+        this.event = event;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getMemberCount() {
+        return memberIds != null ? memberIds.size() : 0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.annotation.Id;
+
+@Schema(description = "Compact view of a group member, limited to the fields shown on the group page")
+public class MemberSummary {
+    @Id
+    @Schema(description = "Unique identifier of the user", example = "user-123")
+    private String id;
+
+    @Schema(description = "User's full name", example = "John Doe")
+    private String name;
+
+    @Schema(description = "User's profile picture URL", example = "https://example.com/photo.jpg")
+    private String picture;
+
+    public MemberSummary() {
+        // Default constructor for MongoDB
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPicture() {
+        return picture;
+    }
+
+    public void setPicture(String picture) {
+        this.picture = picture;
+    }
+}
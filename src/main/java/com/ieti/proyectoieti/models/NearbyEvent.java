@@ -0,0 +1,37 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Event returned by a proximity search together with its distance to the search point")
+public class NearbyEvent {
+  @Schema(description = "The matching event")
+  private Event event;
+
+  @Schema(description = "Distance from the search point in kilometers", example = "1.42")
+  private double distanceKm;
+
+  public NearbyEvent() {
+    // Default constructor for object deserialization
+  }
+
+  public NearbyEvent(Event event, double distanceKm) {
+    this.event = event;
+    this.distanceKm = distanceKm;
+  }
+
+  public Event getEvent() {
+    return event;
+  }
+
+  public void setEvent(Event event) {
+    this.event = event;
+  }
+
+  public double getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(double distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+}
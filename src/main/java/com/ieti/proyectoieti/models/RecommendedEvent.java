@@ -0,0 +1,37 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Upcoming event recommended to a user together with how many of their co-members attend it")
+public class RecommendedEvent {
+  @Schema(description = "The recommended event")
+  private EventSummary event;
+
+  @Schema(description = "Number of people sharing a group with the user who are in a group for this event", example = "3")
+  private int score;
+
+  public RecommendedEvent() {
+    // Default constructor for MongoDB
+  }
+
+  public RecommendedEvent(EventSummary event, int score) {
+    this.event = event;
+    this.score = score;
+  }
+
+  public EventSummary getEvent() {
+    return event;
+  }
+
+  public void setEvent(EventSummary event) {
+    this.event = event;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public void setScore(int score) {
+    this.score = score;
+  }
+}
@@ -0,0 +1,170 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repetition of an event, stored once on the series instead of one document per occurrence.
+ * Occurrences are computed on demand and only inside the window being read.
+ */
+@Schema(description = "Recurrence rule of a repeating event")
+public class RecurrenceRule {
+
+  /** Longest read window, in days, over which a series is expanded into occurrences. */
+  public static final int MAX_EXPANSION_DAYS = 366;
+
+  public enum Frequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+  }
+
+  @Schema(description = "How often the event repeats", example = "WEEKLY", required = true)
+  private Frequency frequency;
+
+  @Schema(description = "Number of periods between occurrences", example = "1", defaultValue = "1")
+  private int interval = 1;
+
+  @Schema(description = "Last date an occurrence may fall on; open-ended when omitted", example = "2025-06-30")
+  private LocalDate until;
+
+  @Schema(description = "Dates on which a scheduled occurrence is cancelled", example = "[\"2025-01-01\"]")
+  private List<LocalDate> exceptions;
+
+  public RecurrenceRule() {
+    // Default constructor for MongoDB
+  }
+
+  public RecurrenceRule(Frequency frequency, int interval, LocalDate until) {
+    this.frequency = frequency;
+    this.interval = interval;
+    this.until = until;
+  }
+
+  public Frequency getFrequency() {
+    return frequency;
+  }
+
+  public void setFrequency(Frequency frequency) {
+    this.frequency = frequency;
+  }
+
+  public int getInterval() {
+    return interval;
+  }
+
+  public void setInterval(int interval) {
+    this.interval = interval;
+  }
+
+  public LocalDate getUntil() {
+    return until;
+  }
+
+  public void setUntil(LocalDate until) {
+    this.until = until;
+  }
+
+  public List<LocalDate> getExceptions() {
+    return exceptions;
+  }
+
+  public void setExceptions(List<LocalDate> exceptions) {
+    this.exceptions = exceptions;
+  }
+
+  /**
+   * Occurrence dates of a series starting on {@code start} that fall within {@code from} and
+   * {@code to}, both inclusive, in order. The first candidate is computed directly from the
+   * distance to {@code from}, so the cost depends on the size of the window and not on how long
+   * the series has been running.
+   */
+  public Stream<LocalDate> occurrencesBetween(LocalDate start, LocalDate from, LocalDate to) {
+    LocalDate end = until != null && until.isBefore(to) ? until : to;
+    if (end.isBefore(from) || end.isBefore(start)) {
+      return Stream.empty();
+    }
+    Set<LocalDate> skipped = exceptions == null || exceptions.isEmpty() ? Set.of() : new HashSet<>(exceptions);
+    Iterator<LocalDate> iterator = new OccurrenceIterator(start, from, end, skipped);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+  }
+
+  private long firstIndex(LocalDate start, LocalDate from) {
+    if (!from.isAfter(start)) {
+      return 0;
+    }
+    return switch (frequency) {
+      case DAILY -> Math.ceilDiv(ChronoUnit.DAYS.between(start, from), interval);
+      case WEEKLY -> Math.ceilDiv(ChronoUnit.DAYS.between(start, from), 7L * interval);
+      // Rounded down; the iterator skips the at most one candidate that still falls before from.
+      case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(from)) / interval;
+    };
+  }
+
+  private LocalDate occurrence(LocalDate start, long index) {
+    return switch (frequency) {
+      case DAILY -> start.plusDays(index * interval);
+      case WEEKLY -> start.plusWeeks(index * interval);
+      case MONTHLY -> start.plusMonths(index * interval);
+    };
+  }
+
+  private final class OccurrenceIterator implements Iterator<LocalDate> {
+    private final LocalDate start;
+    private final LocalDate from;
+    private final LocalDate end;
+    private final Set<LocalDate> skipped;
+    private long index;
+    private LocalDate next;
+
+    OccurrenceIterator(LocalDate start, LocalDate from, LocalDate end, Set<LocalDate> skipped) {
+      this.start = start;
+      this.from = from;
+      this.end = end;
+      this.skipped = skipped;
+      this.index = firstIndex(start, from);
+      this.next = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public LocalDate next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      LocalDate current = next;
+      next = advance();
+      return current;
+    }
+
+    private LocalDate advance() {
+      while (true) {
+        LocalDate candidate = occurrence(start, index++);
+        if (candidate.isAfter(end)) {
+          return null;
+        }
+        // Months without the start's day of month (e.g. the 31st) have no occurrence, as in RFC 5545.
+        boolean clamped = frequency == Frequency.MONTHLY && candidate.getDayOfMonth() != start.getDayOfMonth();
+        if (!clamped && !candidate.isBefore(from) && !skipped.contains(candidate)) {
+          return candidate;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Event ranked by recent activity together with its popularity score")
+public class TrendingEvent {
+  @Schema(description = "The trending event")
+  private Event event;
+
+  @Schema(description = "Popularity score decayed to the time of the last ranking refresh", example = "12.5")
+  private double score;
+
+  public TrendingEvent() {
+    // Default constructor for object deserialization
+  }
+
+  public TrendingEvent(Event event, double score) {
+    this.event = event;
+    this.score = score;
+  }
+
+  public Event getEvent() {
+    return event;
+  }
+
+  public void setEvent(Event event) {
+    this.event = event;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public void setScore(double score) {
+    this.score = score;
+  }
+}
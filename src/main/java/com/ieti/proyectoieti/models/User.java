@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
@@ -27,6 +28,7 @@ public class User {
     private String picture;
 
     @Schema(description = "List of group IDs the user belongs to", accessMode = Schema.AccessMode.READ_ONLY)
+    @Indexed
     private List<String> groupIds;
 
     @Schema(description = "Timestamp when the user was created", accessMode = Schema.AccessMode.READ_ONLY)
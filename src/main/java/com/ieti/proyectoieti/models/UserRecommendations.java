@@ -0,0 +1,56 @@
+package com.ieti.proyectoieti.models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Event recommendations of one user, best first, as of the last run of the recommendation job.
+ * Stored under the user id so serving them is a single primary-key read.
+ */
+@Document(collection = "user_recommendations")
+public class UserRecommendations {
+    @Id
+    private String userId;
+
+    private List<RecommendedEvent> events;
+
+    @Indexed
+    private LocalDateTime computedAt;
+
+    public UserRecommendations() {
+        // Default constructor for MongoDB
+    }
+
+    public UserRecommendations(String userId, List<RecommendedEvent> events, LocalDateTime computedAt) {
+        this.userId = userId;
+        this.events = events;
+        this.computedAt = computedAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public List<RecommendedEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<RecommendedEvent> events) {
+        this.events = events;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
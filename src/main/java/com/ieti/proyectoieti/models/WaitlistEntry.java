@@ -0,0 +1,98 @@
+package com.ieti.proyectoieti.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "group_waitlist")
+@CompoundIndexes({
+        @CompoundIndex(name = "group_user_idx", def = "{'groupId': 1, 'userId': 1}", unique = true),
+        @CompoundIndex(name = "group_sequence_idx", def = "{'groupId': 1, 'sequence': 1}")
+})
+@Schema(description = "Position of a user in the FIFO waitlist of a full group")
+public class WaitlistEntry {
+    @Id
+    @Schema(description = "Unique identifier of the waitlist entry", accessMode = Schema.AccessMode.READ_ONLY)
+    private String id;
+
+    @Schema(description = "ID of the group the user is waiting for", example = "group-123")
+    private String groupId;
+
+    @Schema(description = "ID of the waiting user", example = "user-456")
+    private String userId;
+
+    @Schema(description = "Monotonic ticket within the group; lower tickets are promoted first",
+            example = "7", accessMode = Schema.AccessMode.READ_ONLY)
+    private long sequence;
+
+    @Schema(description = "Timestamp when the user joined the waitlist", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp when a promotion claimed the entry; unset while the user is waiting",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    @Indexed(sparse = true)
+    private LocalDateTime claimedAt;
+
+    public WaitlistEntry() {
+        // Default constructor for MongoDB
+    }
+
+    public WaitlistEntry(String groupId, String userId, long sequence) {
+        this.groupId = groupId;
+        this.userId = userId;
+        this.sequence = sequence;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+}
@@ -3,7 +3,11 @@ package com.ieti.proyectoieti.repositories;
 import com.ieti.proyectoieti.models.Event;
 import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,5 +16,9 @@ public interface EventRepository extends MongoRepository<Event, String> {
 
   List<Event> findByDateAfter(LocalDate date);
 
-  List<Event> findByLocationContainingIgnoreCase(String location);
+  @Query("{ 'recurrence': { '$ne': null }, "
+          + "'$or': [ { 'recurrence.until': null }, { 'recurrence.until': { '$gte': ?0 } } ] }")
+  List<Event> findActiveRecurringSeries(LocalDate from);
+
+  Page<Event> findAllBy(TextCriteria criteria, Pageable pageable);
 }
@@ -0,0 +1,12 @@
+package com.ieti.proyectoieti.repositories;
+
+import com.ieti.proyectoieti.models.EventReservation;
+import java.util.Optional;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventReservationRepository extends MongoRepository<EventReservation, String> {
+    Optional<EventReservation> findByEventIdAndUserId(String eventId, String userId);
+    long deleteByEventId(String eventId);
+}
@@ -0,0 +1,10 @@
+package com.ieti.proyectoieti.repositories;
+
+import com.ieti.proyectoieti.models.GroupInvite;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GroupInviteRepository extends MongoRepository<GroupInvite, String> {
+    long deleteByGroupId(String groupId);
+}
@@ -0,0 +1,14 @@
+package com.ieti.proyectoieti.repositories;
+
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import java.util.Optional;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WaitlistRepository extends MongoRepository<WaitlistEntry, String> {
+    Optional<WaitlistEntry> findByGroupIdAndUserId(String groupId, String userId);
+    long countByGroupIdAndSequenceLessThan(String groupId, long sequence);
+    long deleteByGroupIdAndUserId(String groupId, String userId);
+    long deleteByGroupId(String groupId);
+}
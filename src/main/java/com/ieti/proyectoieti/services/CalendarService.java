@@ -0,0 +1,264 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.RecurrenceRule;
+import com.ieti.proyectoieti.models.User;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * iCalendar feeds of the events linked to a group or to every group a user belongs to. Resolving
+ * a feed only reads ids and modification timestamps, so calendar clients that poll with a validator
+ * can be answered with 304 before any event document is loaded; the full feed is then written
+ * straight from a cursor.
+ */
+@Service
+public class CalendarService {
+
+  private static final String CRLF = "\r\n";
+  private static final int MAX_LINE_OCTETS = 75;
+  private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+  private static final DateTimeFormatter TIMESTAMP =
+          DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  private final MongoTemplate mongoTemplate;
+
+  public CalendarService(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  public CalendarFeed getUserCalendar(String userId) {
+    if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(userId)), User.class)) {
+      throw new IllegalArgumentException("User not found with ID: " + userId);
+    }
+    Query memberships = Query.query(Criteria.where("memberIds").is(userId));
+    memberships.fields().include("eventId", "updatedAt");
+    return resolveFeed("EventIA - My events", mongoTemplate.find(memberships, Group.class));
+  }
+
+  public CalendarFeed getGroupCalendar(String groupId) {
+    Query group = Query.query(Criteria.where("_id").is(groupId));
+    group.fields().include("name", "eventId", "updatedAt");
+    Group found = mongoTemplate.findOne(group, Group.class);
+    if (found == null) {
+      throw new IllegalArgumentException("Group not found with ID: " + groupId);
+    }
+    return resolveFeed("EventIA - " + found.getName(), List.of(found));
+  }
+
+  /** Streams the feed's events as an iCalendar document, reading them through a single cursor. */
+  public void writeCalendar(CalendarFeed feed, OutputStream outputStream) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writeLine(writer, "BEGIN:VCALENDAR");
+    writeLine(writer, "VERSION:2.0");
+    writeLine(writer, "PRODID:-//EventIA//Event Calendar//EN");
+    writeLine(writer, "CALSCALE:GREGORIAN");
+    writeLine(writer, "X-WR-CALNAME:" + escape(feed.getName()));
+    if (!feed.getEventIds().isEmpty()) {
+      Query query = Query.query(Criteria.where("_id").in(feed.getEventIds())).with(Sort.by("date"));
+      try (Stream<Event> events = mongoTemplate.stream(query, Event.class)) {
+        Iterator<Event> iterator = events.iterator();
+        while (iterator.hasNext()) {
+          writeEvent(writer, iterator.next());
+        }
+      }
+    }
+    writeLine(writer, "END:VCALENDAR");
+    writer.flush();
+  }
+
+  // The validators cover the linked groups as well, so joining a group whose event is older than
+  // the rest of the feed still changes both the ETag and Last-Modified.
+  private CalendarFeed resolveFeed(String name, List<Group> groups) {
+    List<String> eventIds = groups.stream()
+            .map(Group::getEventId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+
+    Instant lastModified = groups.stream()
+            .map(Group::getUpdatedAt)
+            .filter(Objects::nonNull)
+            .map(CalendarService::toInstant)
+            .max(Comparator.naturalOrder())
+            .orElse(Instant.EPOCH);
+    StringBuilder fingerprint = new StringBuilder(name);
+    if (!eventIds.isEmpty()) {
+      Query stamps = Query.query(Criteria.where("_id").in(eventIds)).with(Sort.by("_id"));
+      stamps.fields().include("updatedAt", "createdAt");
+      for (Event event : mongoTemplate.find(stamps, Event.class)) {
+        Instant modified = modifiedAt(event);
+        fingerprint.append('|').append(event.getId()).append(':').append(modified.getEpochSecond());
+        if (modified.isAfter(lastModified)) {
+          lastModified = modified;
+        }
+      }
+    }
+    fingerprint.append('|').append(groups.stream()
+            .map(group -> group.getId() + ":" + group.getEventId())
+            .sorted()
+            .collect(Collectors.joining(",")));
+
+    return new CalendarFeed(name, eventIds, etagOf(fingerprint.toString()),
+            lastModified.truncatedTo(ChronoUnit.SECONDS));
+  }
+
+  private static void writeEvent(Writer writer, Event event) throws IOException {
+    writeLine(writer, "BEGIN:VEVENT");
+    writeLine(writer, "UID:" + event.getId() + "@eventia");
+    writeLine(writer, "DTSTAMP:" + TIMESTAMP.format(modifiedAt(event)));
+    writeLine(writer, "DTSTART;VALUE=DATE:" + DATE.format(event.getDate()));
+    writeLine(writer, "DTEND;VALUE=DATE:" + DATE.format(event.getDate().plusDays(1)));
+    writeLine(writer, "SUMMARY:" + escape(event.getTitle()));
+    if (event.getDescription() != null && !event.getDescription().isBlank()) {
+      writeLine(writer, "DESCRIPTION:" + escape(event.getDescription()));
+    }
+    writeLine(writer, "LOCATION:" + escape(event.getLocation()));
+    if (event.getCategory() != null) {
+      writeLine(writer, "CATEGORIES:" + escape(event.getCategory()));
+    }
+    if (event.getGeoLocation() != null) {
+      writeLine(writer, "GEO:" + event.getGeoLocation().getY() + ";" + event.getGeoLocation().getX());
+    }
+    RecurrenceRule recurrence = event.getRecurrence();
+    if (recurrence != null && recurrence.getFrequency() != null) {
+      StringBuilder rule = new StringBuilder("RRULE:FREQ=").append(recurrence.getFrequency().name());
+      if (recurrence.getInterval() > 1) {
+        rule.append(";INTERVAL=").append(recurrence.getInterval());
+      }
+      if (recurrence.getUntil() != null) {
+        rule.append(";UNTIL=").append(DATE.format(recurrence.getUntil()));
+      }
+      writeLine(writer, rule.toString());
+      if (recurrence.getExceptions() != null && !recurrence.getExceptions().isEmpty()) {
+        writeLine(writer, "EXDATE;VALUE=DATE:" + recurrence.getExceptions().stream()
+                .map(DATE::format)
+                .collect(Collectors.joining(",")));
+      }
+    }
+    writeLine(writer, "END:VEVENT");
+  }
+
+  /** Writes a content line, folding it into continuation lines of at most 75 octets (RFC 5545 3.1). */
+  static void writeLine(Writer writer, String line) throws IOException {
+    int octets = 0;
+    for (int i = 0; i < line.length(); ) {
+      int codePoint = line.codePointAt(i);
+      int size = utf8Length(codePoint);
+      if (octets + size > MAX_LINE_OCTETS) {
+        writer.write(CRLF);
+        writer.write(' ');
+        octets = 1;
+      }
+      writer.write(line, i, Character.charCount(codePoint));
+      octets += size;
+      i += Character.charCount(codePoint);
+    }
+    writer.write(CRLF);
+  }
+
+  static String escape(String text) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder escaped = new StringBuilder(text.length() + 8);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\', ';', ',' -> escaped.append('\\').append(c);
+        case '\n' -> escaped.append("\\n");
+        case '\r' -> { }
+        default -> escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  private static int utf8Length(int codePoint) {
+    if (codePoint < 0x80) {
+      return 1;
+    }
+    if (codePoint < 0x800) {
+      return 2;
+    }
+    return codePoint < 0x10000 ? 3 : 4;
+  }
+
+  private static Instant modifiedAt(Event event) {
+    if (event.getUpdatedAt() != null) {
+      return toInstant(event.getUpdatedAt());
+    }
+    LocalDate createdAt = event.getCreatedAt() != null ? event.getCreatedAt() : LocalDate.EPOCH;
+    return createdAt.atStartOfDay(ZoneId.systemDefault()).toInstant();
+  }
+
+  private static Instant toInstant(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+  }
+
+  private static String etagOf(String fingerprint) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  public static final class CalendarFeed {
+    private final String name;
+    private final List<String> eventIds;
+    private final String etag;
+    private final Instant lastModified;
+
+    public CalendarFeed(String name, List<String> eventIds, String etag, Instant lastModified) {
+      this.name = name;
+      this.eventIds = eventIds;
+      this.etag = etag;
+      this.lastModified = lastModified;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public List<String> getEventIds() {
+      return eventIds;
+    }
+
+    public String getEtag() {
+      return etag;
+    }
+
+    public Instant getLastModified() {
+      return lastModified;
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.mongodb.client.result.DeleteResult;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves events dated before the retention horizon, together with their groups, from the hot
+ * collections into {@value #EVENTS_ARCHIVE} and {@value #GROUPS_ARCHIVE}. Recurring series are
+ * only archived once their last occurrence is past the horizon. Work is done in bounded batches
+ * with a pause in between so the nightly run does not compete with regular traffic. Each batch is
+ * copied before it is removed, and copies left by an interrupted run are recognized by their
+ * duplicate key, so a run can always be repeated.
+ */
+@Service
+public class EventArchiver {
+
+  public static final String EVENTS_ARCHIVE = "events_archive";
+  public static final String GROUPS_ARCHIVE = "groups_archive";
+
+  private static final Logger logger = LoggerFactory.getLogger(EventArchiver.class);
+  private static final int DUPLICATE_KEY_ERROR = 11000;
+
+  private final MongoTemplate mongoTemplate;
+  private final RsvpService rsvpService;
+  private final EventSuggestionIndex suggestionIndex;
+  private final EventDuplicateIndex duplicateIndex;
+  private final UpcomingEventsCache upcomingEvents;
+  private final EventResponseCache responseCache;
+  private final EventFacetCache facetCache;
+  private final int retentionDays;
+  private final int batchSize;
+  private final long batchPauseMs;
+
+  public EventArchiver(
+          MongoTemplate mongoTemplate,
+          RsvpService rsvpService,
+          EventSuggestionIndex suggestionIndex,
+          EventDuplicateIndex duplicateIndex,
+          UpcomingEventsCache upcomingEvents,
+          EventResponseCache responseCache,
+          EventFacetCache facetCache,
+          @Value("${app.events.archive.retention-days:365}") int retentionDays,
+          @Value("${app.events.archive.batch-size:200}") int batchSize,
+          @Value("${app.events.archive.batch-pause-ms:250}") long batchPauseMs) {
+    this.mongoTemplate = mongoTemplate;
+    this.rsvpService = rsvpService;
+    this.suggestionIndex = suggestionIndex;
+    this.duplicateIndex = duplicateIndex;
+    this.upcomingEvents = upcomingEvents;
+    this.responseCache = responseCache;
+    this.facetCache = facetCache;
+    this.retentionDays = retentionDays;
+    this.batchSize = batchSize;
+    this.batchPauseMs = batchPauseMs;
+  }
+
+  /** Gives the archives the indexes their reads use; they are not mapped to an entity of their own. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(EVENTS_ARCHIVE).ensureIndex(
+              new Index().on("category", Sort.Direction.ASC).on("date", Sort.Direction.ASC).named("category_date_idx"));
+      mongoTemplate.indexOps(GROUPS_ARCHIVE).ensureIndex(new Index().on("eventId", Sort.Direction.ASC));
+    } catch (DataAccessException e) {
+      logger.warn("Could not create the archive indexes", e);
+    }
+  }
+
+  @Scheduled(cron = "${app.events.archive.cron:0 30 3 * * *}")
+  public void archivePastEvents() {
+    LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+    long start = System.nanoTime();
+    try {
+      int archived = archiveBefore(cutoff);
+      logger.info("Archived {} events dated before {} in {} ms",
+              archived, cutoff, (System.nanoTime() - start) / 1_000_000);
+    } catch (DataAccessException e) {
+      logger.warn("Archiving events dated before {} stopped", cutoff, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Archives every event that ended before {@code cutoff} and returns how many were moved. */
+  int archiveBefore(LocalDate cutoff) throws InterruptedException {
+    Query batch = Query.query(Criteria.where("date").lt(cutoff).orOperator(
+                    Criteria.where("recurrence").is(null),
+                    Criteria.where("recurrence.until").lt(cutoff)))
+            .limit(batchSize);
+    int archived = 0;
+    try {
+      List<Event> events;
+      while (!(events = mongoTemplate.find(batch, Event.class)).isEmpty()) {
+        List<String> eventIds = events.stream().map(Event::getId).toList();
+        copy(events, Event.class, EVENTS_ARCHIVE);
+        if (!archiveGroupsOf(eventIds)) {
+          // The events stay in place so their remaining groups are picked up by the next run.
+          logger.warn("Groups of archived events could not be removed from the groups collection");
+          break;
+        }
+        DeleteResult deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(eventIds)), Event.class);
+        eventIds.forEach(this::forget);
+        archived += (int) deleted.getDeletedCount();
+        if (deleted.getDeletedCount() == 0) {
+          // Nothing could be removed, so the next batch would be the same one.
+          logger.warn("Archived events could not be removed from the events collection");
+          break;
+        }
+        if (events.size() == batchSize) {
+          Thread.sleep(batchPauseMs);
+        }
+      }
+    } finally {
+      if (archived > 0) {
+        responseCache.invalidateAll();
+        facetCache.invalidateAll();
+      }
+    }
+    return archived;
+  }
+
+  private boolean archiveGroupsOf(List<String> eventIds) throws InterruptedException {
+    Query batch = Query.query(Criteria.where("eventId").in(eventIds)).limit(batchSize);
+    List<Group> groups;
+    while (!(groups = mongoTemplate.find(batch, Group.class)).isEmpty()) {
+      List<String> groupIds = groups.stream().map(Group::getId).toList();
+      copy(groups, Group.class, GROUPS_ARCHIVE);
+      // Members keep the group ids in their profiles as a record of past events.
+      mongoTemplate.remove(Query.query(Criteria.where("groupId").in(groupIds)), WaitlistEntry.class);
+      mongoTemplate.remove(Query.query(Criteria.where("groupId").in(groupIds)), GroupInvite.class);
+      DeleteResult deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(groupIds)), Group.class);
+      if (deleted.getDeletedCount() == 0) {
+        return false;
+      }
+      if (groups.size() == batchSize) {
+        Thread.sleep(batchPauseMs);
+      }
+    }
+    return true;
+  }
+
+  private void copy(List<?> documents, Class<?> type, String collection) {
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type, collection);
+    bulk.insert(documents);
+    try {
+      bulk.execute();
+    } catch (BulkOperationException e) {
+      // A duplicate key means an earlier, interrupted run already copied that document.
+      if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY_ERROR)) {
+        throw e;
+      }
+    }
+  }
+
+  private void forget(String eventId) {
+    rsvpService.deleteForEvent(eventId);
+    duplicateIndex.remove(eventId);
+    suggestionIndex.remove(eventId);
+    upcomingEvents.remove(eventId);
+  }
+}
@@ -0,0 +1,306 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventCluster;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+/**
+ * Clusters of geolocated events for map views. Events are grouped into the geohash cells of a
+ * precision picked from the zoom level, and each cell is returned as its centroid and event count.
+ * Cells are computed and cached per tile, a tile being the geohash cell one level coarser, so
+ * panning the map only aggregates the tiles that were not seen before. Tiles are stamped with the
+ * {@link EventResponseCache} generation, which every event write bumps.
+ */
+@Service
+public class EventClusterService {
+
+  private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+  // Chosen so that a viewport of about a thousand pixels spans 8 to 64 cells.
+  private static final int[] PRECISION_BY_ZOOM = {2, 2, 2, 2, 3, 3, 3, 4, 4, 5, 5, 5, 6, 6, 7, 7, 7, 8, 8, 9, 9, 9, 9};
+  private static final int MAX_TILES = 1024;
+  private static final int MAX_CACHED_TILES = 8192;
+  // GeoJSON polygon edges are great-circle arcs; narrow polygons with short edges stay close to the
+  // requested box, and the one-cell padding around it covers what is left.
+  private static final double MAX_POLYGON_WIDTH = 90;
+  private static final double MAX_EDGE_LENGTH = 1;
+  private static final double MAX_LATITUDE = 89.9999;
+
+  private final MongoTemplate mongoTemplate;
+  private final EventResponseCache responseCache;
+  private final long ttlMillis;
+  private final Map<String, Tile> tiles = new ConcurrentHashMap<>();
+
+  public EventClusterService(
+          MongoTemplate mongoTemplate,
+          EventResponseCache responseCache,
+          @Value("${app.events.map.tile-cache-seconds:60}") long ttlSeconds) {
+    this.mongoTemplate = mongoTemplate;
+    this.responseCache = responseCache;
+    this.ttlMillis = ttlSeconds * 1000;
+  }
+
+  /**
+   * Event clusters of every tile overlapping {@code bbox}, given as
+   * {@code minLongitude,minLatitude,maxLongitude,maxLatitude}. A box whose minimum longitude is
+   * greater than its maximum crosses the antimeridian.
+   */
+  public List<EventCluster> getClusters(String bbox, int zoom) {
+    if (zoom < 0 || zoom >= PRECISION_BY_ZOOM.length) {
+      throw new IllegalArgumentException("Zoom must be between 0 and " + (PRECISION_BY_ZOOM.length - 1));
+    }
+    double[] box = parseBoundingBox(bbox);
+    Grid cells = new Grid(PRECISION_BY_ZOOM[zoom]);
+    Grid tileGrid = new Grid(cells.precision - 1);
+    List<int[]> columns = List.of(tileGrid.columns(box[0], box[2]));
+    if (box[0] > box[2]) {
+      int[] east = tileGrid.columns(box[0], 180);
+      int[] west = tileGrid.columns(-180, box[2]);
+      // Both sides can reach into the same column when the box wraps almost all the way around.
+      columns = west[1] >= east[0] ? List.of(tileGrid.columns(-180, 180)) : List.of(east, west);
+    }
+    int[] rows = tileGrid.rows(box[1], box[3]);
+    long tileCount = (long) (rows[1] - rows[0] + 1)
+            * columns.stream().mapToInt(column -> column[1] - column[0] + 1).sum();
+    if (tileCount > MAX_TILES) {
+      throw new IllegalArgumentException("The bounding box is too large for zoom level " + zoom);
+    }
+
+    long generation = responseCache.generation();
+    List<EventCluster> clusters = new ArrayList<>();
+    Set<String> missing = new HashSet<>();
+    List<int[]> missingAreas = new ArrayList<>();
+    for (int[] column : columns) {
+      int[] area = {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE};
+      for (int x = column[0]; x <= column[1]; x++) {
+        for (int y = rows[0]; y <= rows[1]; y++) {
+          String tile = tileGrid.geohash(x, y);
+          List<EventCluster> cached = cachedTile(cells.precision + ":" + tile, generation);
+          if (cached != null) {
+            clusters.addAll(cached);
+            continue;
+          }
+          missing.add(tile);
+          area[0] = Math.min(area[0], x);
+          area[1] = Math.max(area[1], x);
+          area[2] = Math.min(area[2], y);
+          area[3] = Math.max(area[3], y);
+        }
+      }
+      if (area[1] >= 0) {
+        missingAreas.add(area);
+      }
+    }
+    if (!missingAreas.isEmpty()) {
+      computeTiles(cells, tileGrid, missingAreas, generation).forEach((tile, tileClusters) -> {
+        if (missing.contains(tile)) {
+          clusters.addAll(tileClusters);
+        }
+      });
+    }
+    return clusters;
+  }
+
+  // Aggregates every tile of the given areas in one pass. Tiles inside an area that were already
+  // cached are refreshed as well, which is cheaper than describing the area tile by tile.
+  private Map<String, List<EventCluster>> computeTiles(
+          Grid cells, Grid tileGrid, List<int[]> areas, long generation) {
+    Map<String, List<EventCluster>> computed = new LinkedHashMap<>();
+    List<Criteria> polygons = new ArrayList<>();
+    for (int[] area : areas) {
+      for (int x = area[0]; x <= area[1]; x++) {
+        for (int y = area[2]; y <= area[3]; y++) {
+          computed.put(tileGrid.geohash(x, y), new ArrayList<>());
+        }
+      }
+      addRectangle(polygons,
+              tileGrid.west(area[0]) - cells.width, tileGrid.south(area[2]) - cells.height,
+              tileGrid.west(area[1] + 1) + cells.width, tileGrid.south(area[3] + 1) + cells.height);
+    }
+
+    AggregationExpression longitude = ArrayOperators.ArrayElemAt.arrayOf("geoLocation.coordinates").elementAt(0);
+    AggregationExpression latitude = ArrayOperators.ArrayElemAt.arrayOf("geoLocation.coordinates").elementAt(1);
+    Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(polygons.size() == 1 ? polygons.get(0) : new Criteria().orOperator(polygons)),
+            Aggregation.project().and(longitude).as("lng").and(latitude).as("lat"),
+            Aggregation.project("lng", "lat")
+                    .and(gridIndex("lng", 180, cells.width)).as("x")
+                    .and(gridIndex("lat", 90, cells.height)).as("y"),
+            Aggregation.group("x", "y").count().as("count").avg("lng").as("longitude").avg("lat").as("latitude"));
+
+    int shiftX = cells.lngBits - tileGrid.lngBits;
+    int shiftY = cells.latBits - tileGrid.latBits;
+    for (Document cell : mongoTemplate.aggregate(aggregation, Event.class, Document.class)) {
+      Document id = cell.get("_id", Document.class);
+      int x = cells.clampColumn(((Number) id.get("x")).longValue());
+      int y = cells.clampRow(((Number) id.get("y")).longValue());
+      // Cells picked up by the padding belong to tiles that were not requested.
+      List<EventCluster> tile = computed.get(tileGrid.geohash(x >> shiftX, y >> shiftY));
+      if (tile != null) {
+        tile.add(new EventCluster(cells.geohash(x, y),
+                ((Number) cell.get("latitude")).doubleValue(),
+                ((Number) cell.get("longitude")).doubleValue(),
+                ((Number) cell.get("count")).longValue()));
+      }
+    }
+    computed.forEach((tile, tileClusters) -> cacheTile(cells.precision + ":" + tile, generation, tileClusters));
+    return computed;
+  }
+
+  private static AggregationExpression gridIndex(String field, double offset, double size) {
+    return ArithmeticOperators.valueOf(ArithmeticOperators.valueOf(
+            ArithmeticOperators.valueOf(field).add(offset)).divideBy(size)).floor();
+  }
+
+  private static void addRectangle(List<Criteria> polygons, double west, double south, double east, double north) {
+    west = Math.max(west, -180);
+    east = Math.min(east, 180);
+    south = Math.max(south, -MAX_LATITUDE);
+    north = Math.min(north, MAX_LATITUDE);
+    for (double from = west; from < east; from += MAX_POLYGON_WIDTH) {
+      double to = Math.min(east, from + MAX_POLYGON_WIDTH);
+      int edges = (int) Math.ceil((to - from) / MAX_EDGE_LENGTH);
+      List<Point> ring = new ArrayList<>(2 * edges + 3);
+      for (int i = 0; i <= edges; i++) {
+        ring.add(new Point(from + (to - from) * i / edges, south));
+      }
+      for (int i = edges; i >= 0; i--) {
+        ring.add(new Point(from + (to - from) * i / edges, north));
+      }
+      ring.add(ring.get(0));
+      polygons.add(Criteria.where("geoLocation").within(new GeoJsonPolygon(ring)));
+    }
+  }
+
+  private static double[] parseBoundingBox(String bbox) {
+    String[] parts = bbox == null ? new String[0] : bbox.split(",");
+    if (parts.length != 4) {
+      throw new IllegalArgumentException("Bounding box must be minLongitude,minLatitude,maxLongitude,maxLatitude");
+    }
+    double[] box = new double[4];
+    try {
+      for (int i = 0; i < 4; i++) {
+        box[i] = Double.parseDouble(parts[i].trim());
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Bounding box must be minLongitude,minLatitude,maxLongitude,maxLatitude");
+    }
+    if (!(box[0] >= -180 && box[0] <= 180 && box[2] >= -180 && box[2] <= 180
+            && box[1] >= -90 && box[3] <= 90 && box[1] <= box[3])) {
+      throw new IllegalArgumentException("Bounding box coordinates are out of range");
+    }
+    return box;
+  }
+
+  private List<EventCluster> cachedTile(String key, long generation) {
+    Tile tile = tiles.get(key);
+    if (tile == null) {
+      return null;
+    }
+    if (tile.generation != generation || tile.expiresAt < System.currentTimeMillis()) {
+      tiles.remove(key, tile);
+      return null;
+    }
+    return tile.clusters;
+  }
+
+  private void cacheTile(String key, long generation, List<EventCluster> clusters) {
+    if (tiles.size() >= MAX_CACHED_TILES) {
+      long now = System.currentTimeMillis();
+      long current = responseCache.generation();
+      tiles.values().removeIf(tile -> tile.expiresAt < now || tile.generation != current);
+      if (tiles.size() >= MAX_CACHED_TILES) {
+        return;
+      }
+    }
+    tiles.put(key, new Tile(generation, System.currentTimeMillis() + ttlMillis, List.copyOf(clusters)));
+  }
+
+  /** The regular grid of geohash cells of one precision; bits alternate longitude first. */
+  private static final class Grid {
+    private final int precision;
+    private final int lngBits;
+    private final int latBits;
+    private final double width;
+    private final double height;
+
+    Grid(int precision) {
+      this.precision = precision;
+      this.lngBits = (5 * precision + 1) / 2;
+      this.latBits = 5 * precision / 2;
+      this.width = 360.0 / (1L << lngBits);
+      this.height = 180.0 / (1L << latBits);
+    }
+
+    int[] columns(double west, double east) {
+      return new int[] {clampColumn((long) Math.floor((west + 180) / width)),
+              clampColumn((long) Math.floor((east + 180) / width))};
+    }
+
+    int[] rows(double south, double north) {
+      return new int[] {clampRow((long) Math.floor((south + 90) / height)),
+              clampRow((long) Math.floor((north + 90) / height))};
+    }
+
+    // The eastern and northern borders belong to the last cell.
+    int clampColumn(long x) {
+      return (int) Math.max(0, Math.min((1L << lngBits) - 1, x));
+    }
+
+    int clampRow(long y) {
+      return (int) Math.max(0, Math.min((1L << latBits) - 1, y));
+    }
+
+    double west(int x) {
+      return x * width - 180;
+    }
+
+    double south(int y) {
+      return y * height - 90;
+    }
+
+    String geohash(int x, int y) {
+      StringBuilder hash = new StringBuilder(precision);
+      int lngBit = lngBits;
+      int latBit = latBits;
+      int character = 0;
+      for (int i = 0; i < 5 * precision; i++) {
+        int bit = i % 2 == 0 ? (x >> --lngBit) & 1 : (y >> --latBit) & 1;
+        character = (character << 1) | bit;
+        if (i % 5 == 4) {
+          hash.append(BASE32.charAt(character));
+          character = 0;
+        }
+      }
+      return hash.toString();
+    }
+  }
+
+  private static final class Tile {
+    private final long generation;
+    private final long expiresAt;
+    private final List<EventCluster> clusters;
+
+    Tile(long generation, long expiresAt, List<EventCluster> clusters) {
+      this.generation = generation;
+      this.expiresAt = expiresAt;
+      this.clusters = clusters;
+    }
+  }
+}
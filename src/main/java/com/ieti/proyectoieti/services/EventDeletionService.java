@@ -0,0 +1,174 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventDeletionJob;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.User;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Removes the groups of a deleted event in the background. Groups are processed in bounded
+ * batches: their ids are pulled from every member's {@code groupIds} with one multi-document
+ * update, their waitlist entries and invites are removed, and only then the groups themselves, so
+ * an interrupted cleanup still finds the remaining groups when it runs again. Job progress is only
+ * kept in memory, but every deletion leaves a marker in {@value #DELETIONS} until its cleanup has
+ * finished; {@link #resumeInterruptedCleanups()} restarts the cleanups whose marker outlived them.
+ */
+@Service
+public class EventDeletionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventDeletionService.class);
+  static final String DELETIONS = "event_deletions";
+
+  private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+  private static final Duration ABANDONED_MARKER_AGE = Duration.ofHours(1);
+
+  private final MongoTemplate mongoTemplate;
+  private final int batchSize;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+    Thread thread = new Thread(task, "event-deletion");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final Map<String, EventDeletionJob> jobs = new ConcurrentHashMap<>();
+
+  public EventDeletionService(
+          MongoTemplate mongoTemplate, @Value("${app.events.deletion.batch-size:200}") int batchSize) {
+    this.mongoTemplate = mongoTemplate;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Marks {@code eventId} as being deleted. Called before the event is removed, so a cleanup that
+   * never got to start is still found after a restart.
+   */
+  public void recordDeletion(String eventId) {
+    mongoTemplate.save(new Document("_id", eventId).append("deletedAt", Instant.now()), DELETIONS);
+  }
+
+  /** Starts removing the groups that belong to {@code eventId}, which must already be deleted. */
+  public EventDeletionJob deleteGroupsOf(String eventId) {
+    purgeFinishedJobs();
+    EventDeletionJob job = new EventDeletionJob(UUID.randomUUID().toString(), eventId);
+    jobs.put(job.getId(), job);
+    executor.execute(() -> run(job));
+    return job;
+  }
+
+  public EventDeletionJob getJob(String jobId) {
+    EventDeletionJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new IllegalArgumentException("Deletion not found with ID: " + jobId);
+    }
+    return job;
+  }
+
+  void run(EventDeletionJob job) {
+    Query batch = Query.query(Criteria.where("eventId").is(job.getEventId())).limit(batchSize);
+    batch.fields().include("_id");
+    try {
+      List<Group> groups;
+      while (!(groups = mongoTemplate.find(batch, Group.class)).isEmpty()) {
+        List<String> groupIds = groups.stream().map(Group::getId).toList();
+        UpdateResult members = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("groupIds").in(groupIds)),
+                new Update().pullAll("groupIds", groupIds.toArray()),
+                User.class);
+        mongoTemplate.remove(Query.query(Criteria.where("groupId").in(groupIds)), WaitlistEntry.class);
+        mongoTemplate.remove(Query.query(Criteria.where("groupId").in(groupIds)), GroupInvite.class);
+        DeleteResult deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(groupIds)), Group.class);
+        job.recordBatch(deleted.getDeletedCount(), members.getModifiedCount());
+        if (deleted.getDeletedCount() == 0) {
+          // Nothing could be removed, so the next batch would be the same one.
+          job.fail("The event's groups could not be removed");
+          return;
+        }
+      }
+      mongoTemplate.remove(Query.query(Criteria.where("_id").is(job.getEventId())), DELETIONS);
+      job.complete();
+    } catch (DataAccessException e) {
+      logger.warn("Could not remove the groups of deleted event {}", job.getEventId(), e);
+      job.fail("The event's groups could not be removed");
+    }
+  }
+
+  /**
+   * Starts the cleanup again for every recorded deletion that has no running job, at startup and
+   * then periodically. Only events that are really gone are cleaned up: a marker whose event still
+   * exists belongs to a deletion that failed or is still in progress, and is dropped once it is old.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${app.events.deletion.sweep-cron:0 15 * * * *}")
+  public void resumeInterruptedCleanups() {
+    try {
+      List<Document> markers = mongoTemplate.findAll(Document.class, DELETIONS);
+      if (markers.isEmpty()) {
+        return;
+      }
+      List<Object> eventIds = markers.stream().map(marker -> marker.get("_id")).toList();
+      Query existing = Query.query(Criteria.where("_id").in(eventIds));
+      existing.fields().include("_id");
+      Set<String> existingIds = mongoTemplate.find(existing, Event.class).stream()
+              .map(Event::getId)
+              .collect(Collectors.toSet());
+      Instant abandoned = Instant.now().minus(ABANDONED_MARKER_AGE);
+      for (Document marker : markers) {
+        String eventId = marker.getString("_id");
+        if (existingIds.contains(eventId)) {
+          Date deletedAt = marker.getDate("deletedAt");
+          if (deletedAt == null || deletedAt.toInstant().isBefore(abandoned)) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(eventId)), DELETIONS);
+          }
+        } else if (!isRunning(eventId)) {
+          logger.info("Resuming the cleanup of the groups of deleted event {}", eventId);
+          deleteGroupsOf(eventId);
+        }
+      }
+    } catch (DataAccessException e) {
+      logger.warn("Could not resume the cleanup of deleted events", e);
+    }
+  }
+
+  private boolean isRunning(String eventId) {
+    return jobs.values().stream()
+            .anyMatch(job -> job.getStatus() == EventDeletionJob.Status.RUNNING && job.getEventId().equals(eventId));
+  }
+
+  private void purgeFinishedJobs() {
+    Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+    jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
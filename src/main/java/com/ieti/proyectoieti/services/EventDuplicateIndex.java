@@ -0,0 +1,200 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory near-duplicate detection for events. Each event gets a MinHash signature over the
+ * character trigrams of its normalized title and location, and the signature is split into bands
+ * that are bucketed together with the event date. Only events sharing a bucket are compared, so a
+ * lookup touches a handful of candidates instead of the whole collection.
+ */
+@Component
+public class EventDuplicateIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventDuplicateIndex.class);
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final int HASHES = 64;
+  private static final int BANDS = 16;
+  private static final int ROWS = HASHES / BANDS;
+  private static final int SHINGLE_SIZE = 3;
+  // Smallest prime above 2^32, so every 32-bit shingle hash is a distinct residue.
+  private static final long PRIME = 4_294_967_311L;
+
+  private final MongoTemplate mongoTemplate;
+  private final double threshold;
+  private final long[] multipliers = new long[HASHES];
+  private final long[] offsets = new long[HASHES];
+
+  private final Map<String, Signature> signatures = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> buckets = new ConcurrentHashMap<>();
+
+  public EventDuplicateIndex(
+          MongoTemplate mongoTemplate, @Value("${app.events.duplicate-threshold:0.7}") double threshold) {
+    this.mongoTemplate = mongoTemplate;
+    this.threshold = threshold;
+    // Fixed seed: signatures only need to be consistent within the running index.
+    Random random = new Random(0x5EEDL);
+    for (int i = 0; i < HASHES; i++) {
+      // Below 2^31 so that multiplier * hash cannot overflow a long.
+      multipliers[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+      offsets[i] = random.nextInt(Integer.MAX_VALUE);
+    }
+  }
+
+  /** Indexes every event from a single cursor. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    Query query = new Query();
+    query.fields().include("title", "location", "date");
+    long start = System.nanoTime();
+    try (Stream<Event> cursor = mongoTemplate.stream(query, Event.class)) {
+      cursor.parallel().forEach(this::add);
+      logger.info("Indexed {} events for duplicate detection in {} ms",
+              signatures.size(), (System.nanoTime() - start) / 1_000_000);
+    } catch (DataAccessException e) {
+      logger.warn("Could not build the event duplicate index", e);
+    }
+  }
+
+  public void add(Event event) {
+    Signature signature = signatureOf(event);
+    if (signature == null || event.getId() == null) {
+      return;
+    }
+    remove(event.getId());
+    signatures.put(event.getId(), signature);
+    for (int band = 0; band < BANDS; band++) {
+      buckets.computeIfAbsent(signature.bucket(band), key -> ConcurrentHashMap.newKeySet()).add(event.getId());
+    }
+  }
+
+  public void remove(String eventId) {
+    Signature removed = signatures.remove(eventId);
+    if (removed == null) {
+      return;
+    }
+    for (int band = 0; band < BANDS; band++) {
+      buckets.computeIfPresent(removed.bucket(band), (key, ids) -> {
+        ids.remove(eventId);
+        return ids.isEmpty() ? null : ids;
+      });
+    }
+  }
+
+  public int size() {
+    return signatures.size();
+  }
+
+  /**
+   * Returns the id of the most similar indexed event on the same date, if its estimated Jaccard
+   * similarity to {@code event} reaches the configured threshold.
+   */
+  public Optional<String> findDuplicate(Event event) {
+    Signature signature = signatureOf(event);
+    if (signature == null) {
+      return Optional.empty();
+    }
+    String best = null;
+    double bestSimilarity = threshold;
+    Set<String> compared = new HashSet<>();
+    for (int band = 0; band < BANDS; band++) {
+      for (String candidate : buckets.getOrDefault(signature.bucket(band), Set.of())) {
+        if (candidate.equals(event.getId()) || !compared.add(candidate)) {
+          continue;
+        }
+        Signature other = signatures.get(candidate);
+        if (other == null) {
+          continue;
+        }
+        double similarity = signature.similarity(other);
+        if (similarity >= bestSimilarity) {
+          best = candidate;
+          bestSimilarity = similarity;
+        }
+      }
+    }
+    return Optional.ofNullable(best);
+  }
+
+  private Signature signatureOf(Event event) {
+    if (event == null || event.getDate() == null || (event.getTitle() == null && event.getLocation() == null)) {
+      return null;
+    }
+    String text = normalize(event.getTitle()) + " " + normalize(event.getLocation());
+    long[] minimums = new long[HASHES];
+    Arrays.fill(minimums, Long.MAX_VALUE);
+    int shingles = Math.max(1, text.length() - SHINGLE_SIZE + 1);
+    for (int start = 0; start < shingles; start++) {
+      String shingle = text.substring(start, Math.min(text.length(), start + SHINGLE_SIZE));
+      long hash = shingle.hashCode() & 0xFFFFFFFFL;
+      for (int i = 0; i < HASHES; i++) {
+        long value = (multipliers[i] * hash + offsets[i]) % PRIME;
+        if (value < minimums[i]) {
+          minimums[i] = value;
+        }
+      }
+    }
+    return new Signature(event.getDate(), minimums);
+  }
+
+  private static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+    return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+
+  private static final class Signature {
+    private final LocalDate date;
+    private final long[] minimums;
+
+    Signature(LocalDate date, long[] minimums) {
+      this.date = date;
+      this.minimums = minimums;
+    }
+
+    String bucket(int band) {
+      long hash = 1;
+      for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+        hash = 31 * hash + minimums[row];
+      }
+      return date.toEpochDay() + ":" + band + ":" + hash;
+    }
+
+    double similarity(Signature other) {
+      if (!date.equals(other.date)) {
+        return 0;
+      }
+      int equal = 0;
+      for (int i = 0; i < HASHES; i++) {
+        if (minimums[i] == other.minimums[i]) {
+          equal++;
+        }
+      }
+      return (double) equal / HASHES;
+    }
+  }
+}
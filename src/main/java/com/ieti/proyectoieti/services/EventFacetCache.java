@@ -0,0 +1,73 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.EventFacets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Facet counts of recent browse filters, kept for a few seconds so that paging through a filter or
+ * switching back to a tab only has to fetch the page itself. Entries are stamped with the
+ * generation they were computed in, and every event write bumps it, like {@link EventResponseCache}.
+ */
+@Component
+public class EventFacetCache {
+
+  private static final int MAX_ENTRIES = 256;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final long ttlMillis;
+
+  public EventFacetCache(@Value("${app.events.facet-cache-seconds:30}") long ttlSeconds) {
+    this.ttlMillis = ttlSeconds * 1000;
+  }
+
+  public long generation() {
+    return generation.get();
+  }
+
+  /** Returns the facets cached under {@code key}, or null if they are missing, stale or expired. */
+  public EventFacets get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.generation != generation.get() || entry.expiresAt < System.currentTimeMillis()) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry.facets;
+  }
+
+  /** {@code generation} must be read before the facets were computed. */
+  public void put(String key, long generation, EventFacets facets) {
+    if (entries.size() >= MAX_ENTRIES) {
+      long now = System.currentTimeMillis();
+      entries.values().removeIf(entry -> entry.expiresAt < now);
+      if (entries.size() >= MAX_ENTRIES) {
+        return;
+      }
+    }
+    entries.put(key, new Entry(generation, System.currentTimeMillis() + ttlMillis, facets));
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  private static final class Entry {
+    private final long generation;
+    private final long expiresAt;
+    private final EventFacets facets;
+
+    Entry(long generation, long expiresAt, EventFacets facets) {
+      this.generation = generation;
+      this.expiresAt = expiresAt;
+      this.facets = facets;
+    }
+  }
+}
@@ -0,0 +1,456 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.RecurrenceRule;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+/**
+ * Reads events one record at a time from an uploaded CSV or iCalendar file. Only the record being
+ * parsed is held in memory, and a record that cannot be mapped to an event is returned with an
+ * error instead of stopping the import.
+ */
+abstract class EventFileReader implements Closeable {
+
+  enum Format {
+    CSV,
+    ICS
+  }
+
+  /**
+   * Longest CSV record or iCalendar line, physical or unfolded, accepted; together with the field
+   * limit it keeps a malformed file from growing a single record without bound.
+   */
+  static final int MAX_RECORD_CHARS = 64 * 1024;
+
+  /** Most fields accepted in one CSV record. */
+  static final int MAX_RECORD_FIELDS = 256;
+
+  protected final BufferedReader reader;
+  protected long line = 1;
+
+  EventFileReader(BufferedReader reader) {
+    this.reader = reader;
+  }
+
+  static EventFileReader open(Format format, BufferedReader reader) {
+    return format == Format.CSV ? new CsvReader(reader) : new IcsReader(reader);
+  }
+
+  /** Returns the next record, or null at the end of the input. */
+  abstract Record next() throws IOException;
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  static final class Record {
+    private final long line;
+    private final Event event;
+    private final String error;
+
+    Record(long line, Event event, String error) {
+      this.line = line;
+      this.event = event;
+      this.error = error;
+    }
+
+    long getLine() {
+      return line;
+    }
+
+    Event getEvent() {
+      return event;
+    }
+
+    String getError() {
+      return error;
+    }
+  }
+
+  /**
+   * RFC 4180 records with a header row naming the columns; title, date and location are required
+   * and description, category, latitude, longitude and capacity are optional.
+   */
+  private static final class CsvReader extends EventFileReader {
+    private Map<String, Integer> columns;
+
+    CsvReader(BufferedReader reader) {
+      super(reader);
+    }
+
+    @Override
+    Record next() throws IOException {
+      if (columns == null) {
+        List<String> header = readRecord();
+        if (header == null) {
+          return null;
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+          columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("title", "date", "location")) {
+          if (!columns.containsKey(required)) {
+            throw new IOException("CSV header is missing the '" + required + "' column");
+          }
+        }
+      }
+
+      List<String> fields;
+      long start;
+      do {
+        start = line;
+        fields = readRecord();
+        if (fields == null) {
+          return null;
+        }
+      } while (fields.size() == 1 && fields.get(0).isBlank());
+
+      String date = field(fields, "date");
+      if (date == null) {
+        return new Record(start, null, "Missing date");
+      }
+      try {
+        Event event = new Event(
+                field(fields, "title"),
+                field(fields, "description"),
+                LocalDate.parse(date),
+                field(fields, "location"),
+                field(fields, "category"));
+        String latitude = field(fields, "latitude");
+        String longitude = field(fields, "longitude");
+        if ((latitude == null) != (longitude == null)) {
+          throw new IllegalArgumentException("Latitude and longitude must be provided together");
+        }
+        if (latitude != null) {
+          event.setGeoLocation(new GeoJsonPoint(Double.parseDouble(longitude), Double.parseDouble(latitude)));
+        }
+        String capacity = field(fields, "capacity");
+        if (capacity != null) {
+          event.setCapacity(Integer.valueOf(capacity));
+        }
+        return new Record(start, event, null);
+      } catch (DateTimeParseException e) {
+        return new Record(start, null, "Invalid date, expected yyyy-MM-dd");
+      } catch (NumberFormatException e) {
+        return new Record(start, null, "Invalid number: " + e.getMessage());
+      } catch (IllegalArgumentException e) {
+        return new Record(start, null, e.getMessage());
+      }
+    }
+
+    private String field(List<String> fields, String name) {
+      Integer index = columns.get(name);
+      if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+        return null;
+      }
+      return fields.get(index).trim();
+    }
+
+    private List<String> readRecord() throws IOException {
+      int c = reader.read();
+      if (c == -1) {
+        return null;
+      }
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      int recordChars = 0;
+      while (true) {
+        if (c == -1) {
+          if (quoted) {
+            throw new IOException("Unterminated quoted field at the end of the file");
+          }
+          fields.add(field.toString());
+          return fields;
+        }
+        if (quoted) {
+          if (c == '"') {
+            reader.mark(1);
+            if (reader.read() == '"') {
+              field.append('"');
+            } else {
+              reader.reset();
+              quoted = false;
+            }
+          } else {
+            if (c == '\n') {
+              line++;
+            }
+            field.append((char) c);
+          }
+        } else if (c == '"' && field.isEmpty()) {
+          quoted = true;
+        } else if (c == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+          if (fields.size() >= MAX_RECORD_FIELDS) {
+            throw new IOException("CSV record at line " + line + " has more than " + MAX_RECORD_FIELDS + " fields");
+          }
+        } else if (c == '\n' || c == '\r') {
+          if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+              reader.reset();
+            }
+          }
+          line++;
+          fields.add(field.toString());
+          return fields;
+        } else {
+          field.append((char) c);
+        }
+        if (++recordChars > MAX_RECORD_CHARS) {
+          throw new IOException("CSV record at line " + line + " exceeds " + MAX_RECORD_CHARS + " characters");
+        }
+        c = reader.read();
+      }
+    }
+  }
+
+  /**
+   * VEVENT components of an iCalendar file, read from unfolded content lines. Understands the
+   * properties written by {@link CalendarService}, so exported feeds can be imported again;
+   * components nested in an event, such as alarms, are skipped.
+   */
+  private static final class IcsReader extends EventFileReader {
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // Physical line read ahead to detect continuations, and where the current content line began.
+    private String pending;
+    private long pendingLine;
+    private long contentLine;
+
+    IcsReader(BufferedReader reader) {
+      super(reader);
+    }
+
+    @Override
+    Record next() throws IOException {
+      String content;
+      while ((content = readContentLine()) != null) {
+        if (content.equalsIgnoreCase("BEGIN:VEVENT")) {
+          return readEvent(contentLine);
+        }
+      }
+      return null;
+    }
+
+    private Record readEvent(long start) throws IOException {
+      Map<String, String> properties = new HashMap<>();
+      List<LocalDate> exceptions = new ArrayList<>();
+      int nested = 0;
+      String content;
+      while ((content = readContentLine()) != null) {
+        int separator = valueSeparator(content);
+        if (separator < 0) {
+          continue;
+        }
+        String name = content.substring(0, nameEnd(content, separator)).toUpperCase(Locale.ROOT);
+        String value = content.substring(separator + 1);
+        if (name.equals("BEGIN")) {
+          nested++;
+        } else if (name.equals("END")) {
+          if (nested == 0) {
+            return toRecord(start, properties, exceptions);
+          }
+          nested--;
+        } else if (nested == 0) {
+          if (name.equals("EXDATE")) {
+            try {
+              for (String date : value.split(",")) {
+                exceptions.add(parseDate(date));
+              }
+            } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+              return skipEvent(start, "Invalid EXDATE");
+            }
+          } else {
+            properties.putIfAbsent(name, value);
+          }
+        }
+      }
+      throw new IOException("Event starting at line " + start + " is not terminated by END:VEVENT");
+    }
+
+    private Record skipEvent(long start, String error) throws IOException {
+      int nested = 0;
+      String content;
+      while ((content = readContentLine()) != null) {
+        String upper = content.toUpperCase(Locale.ROOT);
+        if (upper.startsWith("BEGIN:")) {
+          nested++;
+        } else if (upper.startsWith("END:")) {
+          if (nested == 0) {
+            return new Record(start, null, error);
+          }
+          nested--;
+        }
+      }
+      throw new IOException("Event starting at line " + start + " is not terminated by END:VEVENT");
+    }
+
+    private Record toRecord(long start, Map<String, String> properties, List<LocalDate> exceptions) {
+      String dtstart = properties.get("DTSTART");
+      if (dtstart == null) {
+        return new Record(start, null, "Missing DTSTART");
+      }
+      try {
+        String categories = properties.get("CATEGORIES");
+        Event event = new Event(
+                unescape(properties.get("SUMMARY")),
+                unescape(properties.get("DESCRIPTION")),
+                parseDate(dtstart),
+                unescape(properties.get("LOCATION")),
+                categories != null ? unescape(categories.split("(?<!\\\\),")[0]) : null);
+        String geo = properties.get("GEO");
+        if (geo != null) {
+          String[] coordinates = geo.split(";");
+          if (coordinates.length != 2) {
+            return new Record(start, null, "Invalid GEO, expected latitude;longitude");
+          }
+          event.setGeoLocation(new GeoJsonPoint(
+                  Double.parseDouble(coordinates[1].trim()), Double.parseDouble(coordinates[0].trim())));
+        }
+        String rrule = properties.get("RRULE");
+        if (rrule != null) {
+          event.setRecurrence(parseRule(rrule));
+          if (!exceptions.isEmpty()) {
+            event.getRecurrence().setExceptions(exceptions);
+          }
+        }
+        return new Record(start, event, null);
+      } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+        return new Record(start, null, "Invalid date, expected yyyyMMdd");
+      } catch (IllegalArgumentException e) {
+        return new Record(start, null, e.getMessage());
+      }
+    }
+
+    private static RecurrenceRule parseRule(String rrule) {
+      RecurrenceRule rule = new RecurrenceRule();
+      for (String part : rrule.split(";")) {
+        int equals = part.indexOf('=');
+        if (equals < 0) {
+          continue;
+        }
+        String value = part.substring(equals + 1);
+        switch (part.substring(0, equals).toUpperCase(Locale.ROOT)) {
+          case "FREQ" -> {
+            try {
+              rule.setFrequency(RecurrenceRule.Frequency.valueOf(value.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+              throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+            }
+          }
+          case "INTERVAL" -> rule.setInterval(Integer.parseInt(value));
+          case "UNTIL" -> rule.setUntil(parseDate(value));
+          default -> throw new IllegalArgumentException("Unsupported recurrence part: " + part);
+        }
+      }
+      return rule;
+    }
+
+    // Date-times keep only their date, since events are scheduled by day.
+    private static LocalDate parseDate(String value) {
+      return LocalDate.parse(value.trim().substring(0, 8), DATE);
+    }
+
+    private static int valueSeparator(String content) {
+      boolean quoted = false;
+      for (int i = 0; i < content.length(); i++) {
+        char c = content.charAt(i);
+        if (c == '"') {
+          quoted = !quoted;
+        } else if (c == ':' && !quoted) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private static int nameEnd(String content, int separator) {
+      int parameters = content.indexOf(';');
+      return parameters >= 0 && parameters < separator ? parameters : separator;
+    }
+
+    private static String unescape(String text) {
+      if (text == null) {
+        return null;
+      }
+      StringBuilder unescaped = new StringBuilder(text.length());
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '\\' && i + 1 < text.length()) {
+          char escaped = text.charAt(++i);
+          unescaped.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+        } else {
+          unescaped.append(c);
+        }
+      }
+      return unescaped.toString();
+    }
+
+    /** Returns the next content line with its continuation lines unfolded (RFC 5545 3.1). */
+    private String readContentLine() throws IOException {
+      if (pending == null) {
+        pending = readPhysicalLine();
+        pendingLine = line++;
+        if (pending == null) {
+          return null;
+        }
+      }
+      contentLine = pendingLine;
+      StringBuilder content = new StringBuilder(pending);
+      while (true) {
+        String physical = readPhysicalLine();
+        long physicalLine = line++;
+        if (physical != null && !physical.isEmpty() && (physical.charAt(0) == ' ' || physical.charAt(0) == '\t')) {
+          content.append(physical, 1, physical.length());
+          if (content.length() > MAX_RECORD_CHARS) {
+            throw new IOException("Content line at line " + contentLine + " exceeds "
+                    + MAX_RECORD_CHARS + " characters");
+          }
+          continue;
+        }
+        pending = physical;
+        pendingLine = physicalLine;
+        return content.toString();
+      }
+    }
+
+    // Like BufferedReader.readLine, but stops with an error instead of buffering an overlong line.
+    private String readPhysicalLine() throws IOException {
+      int c = reader.read();
+      if (c == -1) {
+        return null;
+      }
+      StringBuilder physical = new StringBuilder();
+      while (c != -1 && c != '\n' && c != '\r') {
+        if (physical.length() == MAX_RECORD_CHARS) {
+          throw new IOException("Line " + line + " exceeds " + MAX_RECORD_CHARS + " characters");
+        }
+        physical.append((char) c);
+        c = reader.read();
+      }
+      if (c == '\r') {
+        reader.mark(1);
+        if (reader.read() != '\n') {
+          reader.reset();
+        }
+      }
+      return physical.toString();
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventBatchItem;
+import com.ieti.proyectoieti.models.EventImportJob;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Imports events from uploaded CSV or iCalendar files in the background. The upload is spooled to
+ * a temporary file, then a reader thread parses it record by record into a bounded queue while a
+ * writer thread drains the queue into bulk inserts. When the writer falls behind the reader blocks
+ * on the full queue, so memory use depends on the queue size and not on the size of the file.
+ */
+@Service
+public class EventImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventImportService.class);
+  private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+  private static final EventFileReader.Record END_OF_FILE = new EventFileReader.Record(-1, null, null);
+
+  private final EventService eventService;
+  private final int queueCapacity;
+  private final int batchSize;
+  private final Semaphore importSlots;
+  private final ExecutorService executor;
+  private final Map<String, EventImportJob> jobs = new ConcurrentHashMap<>();
+
+  public EventImportService(
+          EventService eventService,
+          @Value("${app.events.import.queue-capacity:1000}") int queueCapacity,
+          @Value("${app.events.import.batch-size:500}") int batchSize,
+          @Value("${app.events.import.max-concurrent:2}") int maxConcurrent) {
+    this.eventService = eventService;
+    this.queueCapacity = queueCapacity;
+    this.batchSize = Math.min(batchSize, EventService.MAX_BATCH_EVENTS);
+    this.importSlots = new Semaphore(maxConcurrent);
+    AtomicInteger threads = new AtomicInteger();
+    this.executor = Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, "event-import-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public EventImportJob startImport(MultipartFile file) throws IOException {
+    if (file == null || file.isEmpty()) {
+      throw new IllegalArgumentException("The uploaded file is empty");
+    }
+    EventFileReader.Format format = formatOf(file);
+    purgeFinishedJobs();
+    if (!importSlots.tryAcquire()) {
+      throw new IllegalArgumentException("Too many imports in progress, try again later");
+    }
+    Path upload;
+    try {
+      upload = Files.createTempFile("event-import-", "." + format.name().toLowerCase(Locale.ROOT));
+      try (InputStream content = file.getInputStream()) {
+        Files.copy(content, upload, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | RuntimeException e) {
+      importSlots.release();
+      throw e;
+    }
+
+    EventImportJob job = new EventImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), format.name());
+    jobs.put(job.getId(), job);
+    executor.execute(() -> {
+      try {
+        runImport(job, upload, format);
+      } finally {
+        importSlots.release();
+      }
+    });
+    return job;
+  }
+
+  public EventImportJob getJob(String jobId) {
+    EventImportJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new IllegalArgumentException("Import not found with ID: " + jobId);
+    }
+    return job;
+  }
+
+  void runImport(EventImportJob job, Path upload, EventFileReader.Format format) {
+    BlockingQueue<EventFileReader.Record> queue = new ArrayBlockingQueue<>(queueCapacity);
+    Future<?> writer = executor.submit(() -> {
+      writeBatches(job, queue);
+      return null;
+    });
+    try (EventFileReader reader = EventFileReader.open(format, Files.newBufferedReader(upload, StandardCharsets.UTF_8))) {
+      EventFileReader.Record record;
+      while ((record = reader.next()) != null) {
+        job.recordRead();
+        if (record.getError() != null) {
+          job.recordFailure(record.getLine(), record.getError());
+        } else {
+          queue.put(record);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Import {} stopped while reading {}", job.getId(), job.getFileName(), e);
+      job.fail(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.fail("The import was interrupted");
+    } finally {
+      try {
+        // Everything read before a failure is still written.
+        queue.put(END_OF_FILE);
+        writer.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        writer.cancel(true);
+        job.fail("The import was interrupted");
+      } catch (Exception e) {
+        logger.warn("Import {} stopped while writing", job.getId(), e);
+        job.fail("The events could not be stored");
+      }
+      try {
+        Files.deleteIfExists(upload);
+      } catch (IOException e) {
+        logger.warn("Could not delete import file {}", upload, e);
+      }
+      if (job.getStatus() == EventImportJob.Status.RUNNING) {
+        job.complete();
+      }
+    }
+  }
+
+  private void writeBatches(EventImportJob job, BlockingQueue<EventFileReader.Record> queue) throws InterruptedException {
+    List<EventFileReader.Record> batch = new ArrayList<>(batchSize);
+    boolean end = false;
+    while (!end) {
+      batch.add(queue.take());
+      queue.drainTo(batch, batchSize - 1);
+      // The end marker is the last record ever queued, so it can only be at the end of a batch.
+      if (batch.get(batch.size() - 1) == END_OF_FILE) {
+        batch.remove(batch.size() - 1);
+        end = true;
+      }
+      if (!batch.isEmpty()) {
+        store(job, batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void store(EventImportJob job, List<EventFileReader.Record> batch) {
+    List<Event> events = batch.stream().map(EventFileReader.Record::getEvent).toList();
+    List<EventBatchItem> items;
+    try {
+      items = eventService.createEvents(events);
+    } catch (RuntimeException e) {
+      logger.warn("Import {} could not store a batch of {} events", job.getId(), batch.size(), e);
+      batch.forEach(record -> job.recordFailure(record.getLine(), "The event could not be stored"));
+      return;
+    }
+    for (EventBatchItem item : items) {
+      if (item.getEventId() != null) {
+        job.recordCreated();
+      } else {
+        job.recordFailure(batch.get(item.getIndex()).getLine(), item.getError());
+      }
+    }
+  }
+
+  private void purgeFinishedJobs() {
+    Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+    jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+  }
+
+  private static EventFileReader.Format formatOf(MultipartFile file) {
+    String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+    String contentType = file.getContentType() != null ? file.getContentType().toLowerCase(Locale.ROOT) : "";
+    if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+      return EventFileReader.Format.CSV;
+    }
+    if (name.endsWith(".ics") || contentType.startsWith("text/calendar")) {
+      return EventFileReader.Format.ICS;
+    }
+    throw new IllegalArgumentException("Only .csv and .ics files can be imported");
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,105 @@
+package com.ieti.proyectoieti.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Already-encoded JSON bodies of the event listing endpoints, stored with a gzipped copy and a
+ * strong ETag so that a hit is written straight to the socket. Every event write bumps the
+ * generation, which retires all entries at once, including any still being filled by a request
+ * that read the previous data.
+ */
+@Component
+public class EventResponseCache {
+
+  private static final int MAX_ENTRIES = 512;
+
+  private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  public long generation() {
+    return generation.get();
+  }
+
+  /** Returns the cached response for {@code key}, or null if there is none for the current data. */
+  public CachedResponse get(String key) {
+    CachedResponse cached = entries.get(key);
+    return cached != null && cached.generation == generation.get() ? cached : null;
+  }
+
+  /**
+   * Encodes {@code json} for serving and keeps it under {@code key}, as long as the cache is not
+   * full. {@code generation} must be read before the data behind the body was loaded.
+   */
+  public CachedResponse put(String key, long generation, byte[] json) {
+    CachedResponse cached = new CachedResponse(generation, json);
+    if (entries.size() < MAX_ENTRIES || entries.containsKey(key)) {
+      entries.put(key, cached);
+    }
+    return cached;
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  public static final class CachedResponse {
+    private final long generation;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+
+    CachedResponse(long generation, byte[] json) {
+      this.generation = generation;
+      this.json = json;
+      this.gzip = gzip(json);
+      this.etag = etagOf(json);
+    }
+
+    public byte[] getJson() {
+      return json;
+    }
+
+    public byte[] getGzip() {
+      return gzip;
+    }
+
+    public String getEtag() {
+      return "\"" + etag + "\"";
+    }
+
+    // Strong validators have to differ between content codings of the same resource.
+    public String getGzipEtag() {
+      return "\"" + etag + "-gzip\"";
+    }
+
+    private static byte[] gzip(byte[] json) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+      try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+        out.write(json);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return buffer.toByteArray();
+    }
+
+    private static String etagOf(byte[] json) {
+      try {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
+      }
+    }
+  }
+}
@@ -1,18 +1,99 @@
 package com.ieti.proyectoieti.services;
 
 import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventBatchItem;
+import com.ieti.proyectoieti.models.EventBrowsePage;
+import com.ieti.proyectoieti.models.EventDeletionJob;
+import com.ieti.proyectoieti.models.EventFacets;
+import com.ieti.proyectoieti.models.EventSummary;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.NearbyEvent;
+import com.ieti.proyectoieti.models.RecurrenceRule;
 import com.ieti.proyectoieti.repositories.EventRepository;
+import com.mongodb.bulk.BulkWriteError;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EventService {
 
+  public static final int MAX_BATCH_EVENTS = 5000;
+
+  private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+  private static final double MAX_SEARCH_RADIUS_KM = 500;
+  private static final int MAX_NEARBY_RESULTS = 200;
+  private static final double EARTH_RADIUS_KM = 6371.0088;
+  private static final int MAX_SEARCH_PAGE_SIZE = 100;
+  private static final int MAX_SUGGESTIONS = 25;
+  private static final int MAX_RECURRENCE_INTERVAL = 99;
+  private static final int MAX_RECURRENCE_EXCEPTIONS = 366;
+  private static final int RECURRENCE_HORIZON_DAYS = 90;
+  private static final int DUPLICATE_KEY_ERROR = 11000;
+
   private final EventRepository eventRepository;
+  private final MongoTemplate mongoTemplate;
+  private final EventSuggestionIndex suggestionIndex;
+  private final UpcomingEventsCache upcomingEvents;
+  private final EventResponseCache responseCache;
+  private final RsvpService rsvpService;
+  private final EventFacetCache facetCache;
+  private final EventDuplicateIndex duplicateIndex;
+  private final EventDeletionService deletionService;
+  private final int batchChunkSize;
 
-  public EventService(EventRepository eventRepository) {
+  public EventService(
+          EventRepository eventRepository,
+          MongoTemplate mongoTemplate,
+          EventSuggestionIndex suggestionIndex,
+          UpcomingEventsCache upcomingEvents,
+          EventResponseCache responseCache,
+          RsvpService rsvpService,
+          EventFacetCache facetCache,
+          EventDuplicateIndex duplicateIndex,
+          EventDeletionService deletionService,
+          @Value("${app.events.batch-chunk-size:500}") int batchChunkSize) {
     this.eventRepository = eventRepository;
+    this.mongoTemplate = mongoTemplate;
+    this.suggestionIndex = suggestionIndex;
+    this.upcomingEvents = upcomingEvents;
+    this.responseCache = responseCache;
+    this.rsvpService = rsvpService;
+    this.facetCache = facetCache;
+    this.duplicateIndex = duplicateIndex;
+    this.deletionService = deletionService;
+    this.batchChunkSize = batchChunkSize;
   }
 
   public Event createEvent(
@@ -20,30 +101,446 @@ public class EventService {
     if (title == null || date == null || location == null) {
       throw new IllegalArgumentException("Missing required fields: title, date, location");
     }
-    Event newEvent = new Event(title, description, date, location, category);
-    return eventRepository.save(newEvent);
+    return createEvent(new Event(title, description, date, location, category));
+  }
+
+  public Event createEvent(Event event) {
+    validateEvent(event);
+    duplicateIndex.findDuplicate(event).ifPresent(duplicateId -> {
+      throw new IllegalArgumentException("A similar event already exists on that date with ID: " + duplicateId);
+    });
+    event.setUpdatedAt(LocalDateTime.now());
+    Event saved = eventRepository.save(event);
+    rsvpService.initializeCapacity(saved);
+    duplicateIndex.add(saved);
+    suggestionIndex.add(saved);
+    upcomingEvents.add(saved);
+    responseCache.invalidateAll();
+    facetCache.invalidateAll();
+    return saved;
+  }
+
+  /**
+   * Replaces the details of an event. When the fields shown in group listings change, the summary
+   * embedded in each of the event's groups is rewritten by one multi-document update, so listings
+   * keep rendering without looking the event up. The capacity is fixed once places can be held.
+   */
+  public Event updateEvent(String eventId, Event changes) {
+    Event existing = eventRepository.findById(eventId)
+            .orElseThrow(() -> new IllegalArgumentException("Event not found with ID: " + eventId));
+    validateEvent(changes);
+    if (!Objects.equals(changes.getCapacity(), existing.getCapacity())) {
+      throw new IllegalArgumentException("The capacity of an existing event cannot be changed");
+    }
+    changes.setId(eventId);
+    duplicateIndex.findDuplicate(changes).ifPresent(duplicateId -> {
+      throw new IllegalArgumentException("A similar event already exists on that date with ID: " + duplicateId);
+    });
+    changes.setCreatedAt(existing.getCreatedAt());
+    changes.setUpdatedAt(LocalDateTime.now());
+    Event saved = eventRepository.save(changes);
+    if (!sameSummary(existing, saved)) {
+      mongoTemplate.updateMulti(Query.query(Criteria.where("eventId").is(eventId)),
+              new Update().set("event", new EventSummary(saved)), Group.class);
+    }
+    duplicateIndex.add(saved);
+    suggestionIndex.add(saved);
+    upcomingEvents.add(saved);
+    responseCache.invalidateAll();
+    facetCache.invalidateAll();
+    return saved;
+  }
+
+  /**
+   * Creates a batch of events. Events are validated in parallel, and the valid ones are inserted
+   * with unordered bulk writes of at most {@code app.events.batch-chunk-size} documents, so a
+   * rejected document does not stop the rest of its chunk. Likely duplicates of existing events,
+   * or of earlier events in the same batch, are rejected with the id of the event they resemble.
+   * If a chunk cannot be written at all, it and the chunks after it are reported as failed while
+   * the chunks already written are kept. Returns one item per event, in the order given.
+   */
+  public List<EventBatchItem> createEvents(List<Event> events) {
+    if (events.size() > MAX_BATCH_EVENTS) {
+      throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_EVENTS + " events");
+    }
+    String[] errors = new String[events.size()];
+    IntStream.range(0, events.size()).parallel().forEach(i -> {
+      try {
+        validateEvent(events.get(i));
+      } catch (IllegalArgumentException e) {
+        errors[i] = e.getMessage();
+      }
+    });
+
+    // Sequential, so that each event is also checked against the ones accepted before it.
+    LocalDateTime now = LocalDateTime.now();
+    List<Integer> valid = new ArrayList<>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      if (errors[i] != null) {
+        continue;
+      }
+      Event event = events.get(i);
+      Optional<String> duplicate = duplicateIndex.findDuplicate(event);
+      if (duplicate.isPresent()) {
+        errors[i] = "Possible duplicate of event " + duplicate.get();
+        continue;
+      }
+      duplicateIndex.add(event);
+      event.setUpdatedAt(now);
+      valid.add(i);
+    }
+    for (int start = 0; start < valid.size(); start += batchChunkSize) {
+      List<Integer> chunk = valid.subList(start, Math.min(start + batchChunkSize, valid.size()));
+      BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+      bulk.insert(chunk.stream().map(events::get).toList());
+      try {
+        bulk.execute();
+      } catch (BulkOperationException e) {
+        // Error indexes are relative to the chunk.
+        for (BulkWriteError error : e.getErrors()) {
+          int index = chunk.get(error.getIndex());
+          errors[index] = error.getCode() == DUPLICATE_KEY_ERROR
+                  ? "An event with this ID already exists"
+                  : "The event could not be stored";
+          duplicateIndex.remove(events.get(index).getId());
+        }
+      } catch (RuntimeException e) {
+        // Earlier chunks are committed and still get their post-insert work below; this chunk and
+        // the ones not yet written are reported as failed.
+        logger.warn("Could not store a chunk of {} events, skipping the remaining {}",
+                chunk.size(), valid.size() - start - chunk.size(), e);
+        for (int index : valid.subList(start, valid.size())) {
+          errors[index] = "The event could not be stored";
+          duplicateIndex.remove(events.get(index).getId());
+        }
+        break;
+      }
+    }
+
+    List<EventBatchItem> items = new ArrayList<>(events.size());
+    boolean anyCreated = false;
+    for (int i = 0; i < events.size(); i++) {
+      Event event = events.get(i);
+      if (errors[i] != null) {
+        items.add(new EventBatchItem(i, null, errors[i]));
+        continue;
+      }
+      rsvpService.initializeCapacity(event);
+      suggestionIndex.add(event);
+      upcomingEvents.add(event);
+      items.add(new EventBatchItem(i, event.getId(), null));
+      anyCreated = true;
+    }
+    if (anyCreated) {
+      responseCache.invalidateAll();
+      facetCache.invalidateAll();
+    }
+    return items;
   }
 
-  public List<Event> getEvents() {
-    return eventRepository.findAll();
+  public List<Event> getEvents(boolean includeArchived) {
+    return includeArchived ? findWithArchive(new Criteria()) : eventRepository.findAll();
   }
 
-  public List<Event> getEventsByCategory(String category) {
-    return eventRepository.findByCategory(category);
+  public List<Event> getEventsByCategory(String category, boolean includeArchived) {
+    return includeArchived
+            ? findWithArchive(Criteria.where("category").is(category))
+            : eventRepository.findByCategory(category);
   }
 
   public List<Event> getUpcomingEvents() {
-    return eventRepository.findByDateAfter(LocalDate.now());
+    return getUpcomingEvents(null, null, null);
   }
 
-  public List<Event> searchEventsByLocation(String location) {
-    return eventRepository.findByLocationContainingIgnoreCase(location);
+  public List<Event> getUpcomingEvents(String category, LocalDate from, LocalDate to) {
+    if (from != null && to != null && to.isBefore(from)) {
+      throw new IllegalArgumentException("End date must not be before start date");
+    }
+    LocalDate tomorrow = LocalDate.now().plusDays(1);
+    checkExpansionWindow(from == null || from.isBefore(tomorrow) ? tomorrow : from, to);
+    return upcomingEvents.getUpcoming(category, from, to);
   }
 
-  public void deleteEvent(String eventId) {
+  /**
+   * One page of events matching the optional category and date range, ordered by date, together
+   * with event counts per category and per month. Page, month counts and total come from a single
+   * $facet aggregation filtered on both category and dates; while the facets of a filter are cached,
+   * further pages are read directly through the (category, date) index. Category counts ignore the
+   * selected category so every tab can show its count: without a category they are a branch of the
+   * same $facet, with one they are taken from the cached unfiltered facets or counted by a second
+   * aggregation.
+   */
+  public EventBrowsePage browseEvents(String category, LocalDate from, LocalDate to, int page, int size) {
+    if (from != null && to != null && to.isBefore(from)) {
+      throw new IllegalArgumentException("End date must not be before start date");
+    }
+    if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+      throw new IllegalArgumentException(
+              "Page must be non-negative and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+    }
+    Criteria dateRange = new Criteria();
+    if (from != null || to != null) {
+      dateRange = Criteria.where("date");
+      if (from != null) {
+        dateRange = dateRange.gte(from);
+      }
+      if (to != null) {
+        dateRange = dateRange.lte(to);
+      }
+    }
+    Criteria inCategory = category != null ? Criteria.where("category").is(category) : new Criteria();
+
+    String facetKey = facetKey(category, from, to);
+    EventFacets cached = facetCache.get(facetKey);
+    if (cached != null) {
+      Query pageQuery = new Query().with(PageRequest.of(page, size, Sort.by("date", "id")));
+      if (category != null) {
+        pageQuery.addCriteria(inCategory);
+      }
+      if (from != null || to != null) {
+        pageQuery.addCriteria(dateRange);
+      }
+      return new EventBrowsePage(mongoTemplate.find(pageQuery, Event.class), page, size, cached);
+    }
+
+    long generation = facetCache.generation();
+    // Both predicates go into the leading $match (adjacent stages are merged), so a selected
+    // category is read through the (category, date) index instead of every event in the range.
+    FacetOperation facet = Aggregation.facet(
+                    Aggregation.sort(Sort.by("date", "_id")),
+                    Aggregation.skip((long) page * size),
+                    Aggregation.limit(size))
+            .as("results")
+            .and(
+                    // LocalDate is stored as local midnight, so months are cut in the same zone.
+                    Aggregation.project().and(DateOperators.dateOf("date")
+                            .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                            .toString("%Y-%m")).as("month"),
+                    Aggregation.group("month").count().as("count"),
+                    Aggregation.sort(Sort.by("_id")))
+            .as("months")
+            .and(Aggregation.count().as("total"))
+            .as("total");
+    if (category == null) {
+      facet = facet.and(Aggregation.sortByCount("category")).as("categories");
+    }
+    Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(dateRange), Aggregation.match(inCategory), facet);
+    Document result = mongoTemplate.aggregate(aggregation, Event.class, Document.class).getUniqueMappedResult();
+    if (result == null) {
+      return new EventBrowsePage(List.of(), page, size, new EventFacets(Map.of(), Map.of(), 0));
+    }
+
+    List<Event> content = result.getList("results", Document.class).stream()
+            .map(document -> mongoTemplate.getConverter().read(Event.class, document))
+            .toList();
+    List<Document> total = result.getList("total", Document.class);
+    Map<String, Long> categories = category == null
+            ? countsOf(result.getList("categories", Document.class))
+            : countCategories(from, to, dateRange);
+    EventFacets facets = new EventFacets(
+            categories,
+            countsOf(result.getList("months", Document.class)),
+            total.isEmpty() ? 0 : ((Number) total.get(0).get("total")).longValue());
+    facetCache.put(facetKey, generation, facets);
+    return new EventBrowsePage(content, page, size, facets);
+  }
+
+  // Categories are prefixed so that none, not even one named "null", shares the unfiltered key.
+  private static String facetKey(String category, LocalDate from, LocalDate to) {
+    return (category == null ? "*" : "=" + category) + "|" + from + "|" + to;
+  }
+
+  /**
+   * Event counts per category in a date range, taken from the cached facets of the unfiltered
+   * range when present and otherwise counted on the (date, category) index alone.
+   */
+  private Map<String, Long> countCategories(LocalDate from, LocalDate to, Criteria dateRange) {
+    EventFacets unfiltered = facetCache.get(facetKey(null, from, to));
+    if (unfiltered != null) {
+      return unfiltered.getCategories();
+    }
+    return countsOf(mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.match(dateRange),
+                    Aggregation.project("category").andExclude("_id"),
+                    Aggregation.sortByCount("category")),
+            Event.class, Document.class).getMappedResults());
+  }
+
+  /**
+   * Full-text search over title, location and description through the weighted text index,
+   * most relevant first.
+   */
+  public Page<Event> searchEvents(String query, int page, int size) {
+    if (query == null || query.isBlank()) {
+      throw new IllegalArgumentException("Search query cannot be empty");
+    }
+    if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+      throw new IllegalArgumentException(
+              "Page must be non-negative and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+    }
+    TextCriteria criteria = TextCriteria.forDefaultLanguage().matching(query);
+    return eventRepository.findAllBy(criteria, PageRequest.of(page, size, Sort.by("score")));
+  }
+
+  public List<EventSummary> suggestEvents(String prefix, int limit) {
+    if (prefix == null || prefix.isBlank()) {
+      throw new IllegalArgumentException("Prefix cannot be empty");
+    }
+    if (limit < 1 || limit > MAX_SUGGESTIONS) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+    }
+    return suggestionIndex.suggest(prefix, limit);
+  }
+
+  /**
+   * Finds events within {@code radiusKm} of a point, nearest first, restricted to a date range.
+   * Distance ordering and the date filter are both answered by the (geoLocation 2dsphere, date)
+   * index in a single $geoNear query.
+   */
+  public List<NearbyEvent> findEventsNear(
+          double latitude, double longitude, double radiusKm, LocalDate from, LocalDate to) {
+    if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+      throw new IllegalArgumentException("Coordinates are out of range");
+    }
+    if (radiusKm <= 0 || radiusKm > MAX_SEARCH_RADIUS_KM) {
+      throw new IllegalArgumentException("Radius must be between 0 and " + MAX_SEARCH_RADIUS_KM + " km");
+    }
+    LocalDate start = from != null ? from : LocalDate.now();
+    if (to != null && to.isBefore(start)) {
+      throw new IllegalArgumentException("End date must not be before start date");
+    }
+    checkExpansionWindow(start, to);
+
+    // Recurring series match when any part of them overlaps the window; their occurrences are
+    // expanded below, up to a 90-day horizon when no end date is given.
+    LocalDate seriesEnd = to != null ? to : start.plusDays(RECURRENCE_HORIZON_DAYS);
+    Criteria single = Criteria.where("recurrence").is(null).and("date").gte(start);
+    if (to != null) {
+      single = single.lte(to);
+    }
+    Criteria series = Criteria.where("recurrence").ne(null).and("date").lte(seriesEnd)
+            .orOperator(Criteria.where("recurrence.until").is(null), Criteria.where("recurrence.until").gte(start));
+    Criteria dateRange = new Criteria().orOperator(single, series);
+
+    GeoJsonPoint center = new GeoJsonPoint(longitude, latitude);
+    NearQuery nearQuery = NearQuery.near(center)
+            .spherical(true)
+            .maxDistance(new Distance(radiusKm, Metrics.KILOMETERS))
+            .query(Query.query(dateRange).limit(MAX_NEARBY_RESULTS));
+
+    return mongoTemplate.geoNear(nearQuery, Event.class).getContent().stream()
+            .flatMap(result -> {
+              Event event = result.getContent();
+              double distance = distanceKm(center, event.getGeoLocation());
+              if (event.getRecurrence() == null) {
+                return Stream.of(new NearbyEvent(event, distance));
+              }
+              return event.getRecurrence().occurrencesBetween(event.getDate(), start, seriesEnd)
+                      .map(date -> new NearbyEvent(event.occurrenceOn(date), distance));
+            })
+            .toList();
+  }
+
+  /**
+   * Deletes the event right away and hands the removal of its groups, and of their members'
+   * memberships, to a background job whose status is returned.
+   */
+  public EventDeletionJob deleteEvent(String eventId) {
     if (!eventRepository.existsById(eventId)) {
       throw new IllegalArgumentException("Event not found with ID: " + eventId);
     }
+    deletionService.recordDeletion(eventId);
     eventRepository.deleteById(eventId);
+    rsvpService.deleteForEvent(eventId);
+    duplicateIndex.remove(eventId);
+    suggestionIndex.remove(eventId);
+    upcomingEvents.remove(eventId);
+    responseCache.invalidateAll();
+    facetCache.invalidateAll();
+    return deletionService.deleteGroupsOf(eventId);
+  }
+
+  public EventDeletionJob getDeletionJob(String jobId) {
+    return deletionService.getJob(jobId);
+  }
+
+  /** Events matching {@code criteria} in the events collection followed by those in the archive. */
+  private List<Event> findWithArchive(Criteria criteria) {
+    Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(criteria),
+            UnionWithOperation.unionWith(EventArchiver.EVENTS_ARCHIVE)
+                    .pipeline(Aggregation.match(criteria))
+                    .mapFieldsTo(Event.class));
+    return mongoTemplate.aggregate(aggregation, Event.class, Event.class).getMappedResults();
+  }
+
+  private static boolean sameSummary(Event before, Event after) {
+    return Objects.equals(before.getTitle(), after.getTitle())
+            && Objects.equals(before.getDate(), after.getDate())
+            && Objects.equals(before.getLocation(), after.getLocation())
+            && Objects.equals(before.getCategory(), after.getCategory());
+  }
+
+  private static Map<String, Long> countsOf(List<Document> buckets) {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    for (Document bucket : buckets) {
+      Object key = bucket.get("_id");
+      if (key != null) {
+        counts.put(key.toString(), ((Number) bucket.get("count")).longValue());
+      }
+    }
+    return counts;
+  }
+
+  private static void validateEvent(Event event) {
+    if (event.getTitle() == null || event.getDate() == null || event.getLocation() == null) {
+      throw new IllegalArgumentException("Missing required fields: title, date, location");
+    }
+    validateRecurrence(event);
+    if (event.getCapacity() != null && event.getCapacity() < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1");
+    }
+  }
+
+  private static void validateRecurrence(Event event) {
+    RecurrenceRule rule = event.getRecurrence();
+    if (rule == null) {
+      return;
+    }
+    if (rule.getFrequency() == null) {
+      throw new IllegalArgumentException("Recurrence frequency is required");
+    }
+    if (rule.getInterval() < 1 || rule.getInterval() > MAX_RECURRENCE_INTERVAL) {
+      throw new IllegalArgumentException("Recurrence interval must be between 1 and " + MAX_RECURRENCE_INTERVAL);
+    }
+    if (rule.getUntil() != null && rule.getUntil().isBefore(event.getDate())) {
+      throw new IllegalArgumentException("Recurrence end date must not be before the event date");
+    }
+    if (rule.getExceptions() != null && rule.getExceptions().size() > MAX_RECURRENCE_EXCEPTIONS) {
+      throw new IllegalArgumentException(
+              "A recurrence cannot have more than " + MAX_RECURRENCE_EXCEPTIONS + " exceptions");
+    }
+  }
+
+  // Recurring series are expanded occurrence by occurrence on the request thread, so the window a
+  // caller may ask for is bounded.
+  private static void checkExpansionWindow(LocalDate start, LocalDate to) {
+    if (to != null && to.isAfter(start.plusDays(RecurrenceRule.MAX_EXPANSION_DAYS))) {
+      throw new IllegalArgumentException(
+              "The date range may span at most " + RecurrenceRule.MAX_EXPANSION_DAYS + " days");
+    }
+  }
+
+  // Haversine distance; computed here so the reported unit does not depend on how the driver
+  // scales $geoNear distances for GeoJSON points.
+  private static double distanceKm(GeoJsonPoint from, GeoJsonPoint to) {
+    double lat1 = Math.toRadians(from.getY());
+    double lat2 = Math.toRadians(to.getY());
+    double deltaLat = lat2 - lat1;
+    double deltaLng = Math.toRadians(to.getX() - from.getX());
+    double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+            + Math.cos(lat1) * Math.cos(lat2) * Math.sin(deltaLng / 2) * Math.sin(deltaLng / 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
   }
-}
\ No newline at end of file
+}
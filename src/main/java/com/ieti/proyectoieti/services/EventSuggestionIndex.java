@@ -0,0 +1,253 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventSummary;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory autocomplete over event titles and locations. Every distinct word is indexed by its
+ * trigrams; a typed prefix is compared only with the words that share enough trigrams with it, and
+ * each of those is verified with a bounded edit distance so that small typos still match.
+ */
+@Component
+public class EventSuggestionIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventSuggestionIndex.class);
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final String PADDING = "$$";
+  private static final int GRAM_SIZE = 3;
+
+  private final MongoTemplate mongoTemplate;
+
+  private final Map<String, EventSummary> events = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> eventsByWord = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> wordsByGram = new ConcurrentHashMap<>();
+
+  public EventSuggestionIndex(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  /** Loads every event from a single cursor, indexing documents in parallel as they arrive. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    Query query = new Query();
+    query.fields().include("title", "location", "date", "category");
+    long start = System.nanoTime();
+    try (Stream<Event> cursor = mongoTemplate.stream(query, Event.class)) {
+      cursor.parallel().forEach(this::add);
+      logger.info("Indexed {} events for suggestions in {} ms",
+              events.size(), (System.nanoTime() - start) / 1_000_000);
+    } catch (DataAccessException e) {
+      logger.warn("Could not build the event suggestion index", e);
+    }
+  }
+
+  public void add(Event event) {
+    if (event == null || event.getId() == null) {
+      return;
+    }
+    EventSummary previous = events.put(event.getId(), new EventSummary(event));
+    if (previous != null) {
+      removeWords(previous.getId(), wordsOf(previous.getTitle(), previous.getLocation()));
+    }
+    for (String word : wordsOf(event.getTitle(), event.getLocation())) {
+      eventsByWord.compute(word, (key, ids) -> {
+        if (ids == null) {
+          ids = ConcurrentHashMap.newKeySet();
+          for (String gram : gramsOf(key)) {
+            wordsByGram.compute(gram, (g, gramWords) -> {
+              Set<String> updated = gramWords != null ? gramWords : ConcurrentHashMap.<String>newKeySet();
+              updated.add(key);
+              return updated;
+            });
+          }
+        }
+        ids.add(event.getId());
+        return ids;
+      });
+    }
+  }
+
+  public void remove(String eventId) {
+    EventSummary removed = events.remove(eventId);
+    if (removed != null) {
+      removeWords(eventId, wordsOf(removed.getTitle(), removed.getLocation()));
+    }
+  }
+
+  public int size() {
+    return events.size();
+  }
+
+  /**
+   * Returns events whose title or location has a word starting with each word of {@code prefix},
+   * tolerating one typo from four characters and two from eight. Closer matches come first, then
+   * earlier dates.
+   */
+  public List<EventSummary> suggest(String prefix, int limit) {
+    List<String> terms = new ArrayList<>(wordsOf(prefix));
+    if (terms.isEmpty() || limit < 1) {
+      return List.of();
+    }
+
+    Map<String, Integer> distanceByEvent = null;
+    for (String term : terms) {
+      Map<String, Integer> termMatches = new HashMap<>();
+      for (Map.Entry<String, Integer> match : matchingWords(term).entrySet()) {
+        for (String eventId : eventsByWord.getOrDefault(match.getKey(), Set.of())) {
+          termMatches.merge(eventId, match.getValue(), Math::min);
+        }
+      }
+      if (distanceByEvent == null) {
+        distanceByEvent = termMatches;
+      } else {
+        Map<String, Integer> combined = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : distanceByEvent.entrySet()) {
+          Integer distance = termMatches.get(entry.getKey());
+          if (distance != null) {
+            combined.put(entry.getKey(), entry.getValue() + distance);
+          }
+        }
+        distanceByEvent = combined;
+      }
+      if (distanceByEvent.isEmpty()) {
+        return List.of();
+      }
+    }
+
+    Map<String, Integer> ranking = distanceByEvent;
+    return ranking.keySet().stream()
+            .map(events::get)
+            .filter(summary -> summary != null)
+            .sorted(Comparator.<EventSummary>comparingInt(summary -> ranking.get(summary.getId()))
+                    .thenComparing(EventSummary::getDate, Comparator.nullsLast(Comparator.naturalOrder())))
+            .limit(limit)
+            .toList();
+  }
+
+  // Candidate words share at least (grams - 3 * maxEdits) trigrams with the term, since a single
+  // edit can only break the three grams that overlap it.
+  private Map<String, Integer> matchingWords(String term) {
+    int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+    Set<String> grams = gramsOf(term);
+    Map<String, Integer> sharedGrams = new HashMap<>();
+    for (String gram : grams) {
+      for (String word : wordsByGram.getOrDefault(gram, Set.of())) {
+        sharedGrams.merge(word, 1, Integer::sum);
+      }
+    }
+
+    int required = Math.max(1, grams.size() - GRAM_SIZE * maxEdits);
+    Map<String, Integer> matches = new HashMap<>();
+    for (Map.Entry<String, Integer> candidate : sharedGrams.entrySet()) {
+      if (candidate.getValue() < required) {
+        continue;
+      }
+      int distance = prefixDistance(term, candidate.getKey(), maxEdits);
+      if (distance <= maxEdits) {
+        matches.put(candidate.getKey(), distance);
+      }
+    }
+    return matches;
+  }
+
+  private void removeWords(String eventId, Set<String> words) {
+    for (String word : words) {
+      eventsByWord.computeIfPresent(word, (key, ids) -> {
+        ids.remove(eventId);
+        if (!ids.isEmpty()) {
+          return ids;
+        }
+        for (String gram : gramsOf(key)) {
+          wordsByGram.computeIfPresent(gram, (g, gramWords) -> {
+            gramWords.remove(key);
+            return gramWords.isEmpty() ? null : gramWords;
+          });
+        }
+        return null;
+      });
+    }
+  }
+
+  /**
+   * Smallest edit distance between {@code term} and any prefix of {@code word}, giving up once it
+   * is certain to exceed {@code maxEdits}.
+   */
+  static int prefixDistance(String term, String word, int maxEdits) {
+    int[] previous = new int[word.length() + 1];
+    int[] current = new int[word.length() + 1];
+    for (int j = 0; j <= word.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= term.length(); i++) {
+      current[0] = i;
+      int rowMin = current[0];
+      for (int j = 1; j <= word.length(); j++) {
+        int substitution = previous[j - 1] + (term.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > maxEdits) {
+        return rowMin;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    int best = Integer.MAX_VALUE;
+    for (int distance : previous) {
+      best = Math.min(best, distance);
+    }
+    return best;
+  }
+
+  // Words are padded at the front only, so a term's grams are a subset of those of every word it
+  // prefixes.
+  private static Set<String> gramsOf(String word) {
+    String padded = PADDING + word;
+    Set<String> grams = new LinkedHashSet<>();
+    for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+      grams.add(padded.substring(i, i + GRAM_SIZE));
+    }
+    return grams;
+  }
+
+  private static Set<String> wordsOf(String... texts) {
+    Set<String> words = new HashSet<>();
+    for (String text : texts) {
+      if (text == null) {
+        continue;
+      }
+      String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+              .replaceAll("")
+              .toLowerCase(Locale.ROOT);
+      for (String word : NON_WORD.split(normalized)) {
+        if (!word.isEmpty()) {
+          words.add(word);
+        }
+      }
+    }
+    return words;
+  }
+}
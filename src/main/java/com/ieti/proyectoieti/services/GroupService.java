@@ -1,18 +1,77 @@
 package com.ieti.proyectoieti.services;
 
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventSummary;
 import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.GroupView;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.ieti.proyectoieti.repositories.GroupInviteRepository;
 import com.ieti.proyectoieti.repositories.GroupRepository;
+import com.ieti.proyectoieti.repositories.WaitlistRepository;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GroupService {
 
-    private final GroupRepository groupRepository;
+    private static final Logger logger = LoggerFactory.getLogger(GroupService.class);
+    private static final int MAX_OPEN_GROUPS_LIMIT = 100;
+    private static final String INVITE_CODE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int LIMITED_INVITE_CODE_LENGTH = 10;
+    private static final int DEFAULT_INVITE_USES = 1;
+    private static final int DEFAULT_INVITE_HOURS = 24;
+    private static final Duration WAITLIST_CLAIM_TIMEOUT = Duration.ofMinutes(1);
 
-    public GroupService(GroupRepository groupRepository) {
+    private final GroupRepository groupRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final GroupInviteRepository groupInviteRepository;
+    private final InviteTokenService inviteTokenService;
+    private final MongoTemplate mongoTemplate;
+    private final TrendingService trendingService;
+    private final SecureRandom random = new SecureRandom();
+
+    public GroupService(
+            GroupRepository groupRepository,
+            WaitlistRepository waitlistRepository,
+            GroupInviteRepository groupInviteRepository,
+            InviteTokenService inviteTokenService,
+            MongoTemplate mongoTemplate,
+            TrendingService trendingService) {
         this.groupRepository = groupRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.groupInviteRepository = groupInviteRepository;
+        this.inviteTokenService = inviteTokenService;
+        this.mongoTemplate = mongoTemplate;
+        this.trendingService = trendingService;
     }
 
     public Group createGroup(String name, String description, String creatorId, String eventId) {
@@ -28,103 +87,328 @@ public class GroupService {
         }
 
         Group group = new Group(name, description, creatorId, eventId);
+        if (eventId != null) {
+            EventSummary event = findEventSummary(eventId);
+            if (event == null) {
+                throw new IllegalArgumentException("Event not found with ID: " + eventId);
+            }
+            group.setEvent(event);
+        }
 
         while (groupRepository.existsByInviteCode(group.getInviteCode())) {
             group.setInviteCode(generateUniqueInviteCode());
         }
 
-        return groupRepository.save(group);
+        Group saved = groupRepository.save(group);
+        trendingService.record(eventId, TrendingService.Activity.GROUP_CREATED);
+        return saved;
     }
 
     public Optional<Group> getGroupById(String id) {
         return groupRepository.findById(id);
     }
 
+    /**
+     * Loads a group with its member profiles and/or linked event resolved server-side in a single
+     * aggregation, so rendering a group page does not need one request per member.
+     */
+    public Optional<GroupView> getGroupView(String groupId, boolean includeMembers, boolean includeEvent) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(Criteria.where("_id").is(groupId)));
+
+        if (includeMembers) {
+            // memberIds holds user ids as strings while users are keyed by ObjectId, so convert
+            // them first to keep the lookup on the users _id index.
+            stages.add(stage("$addFields", new Document("memberObjectIds", new Document("$map",
+                    new Document("input", new Document("$ifNull", List.of("$memberIds", List.of())))
+                            .append("as", "memberId")
+                            .append("in", new Document("$convert", new Document("input", "$$memberId")
+                                    .append("to", "objectId")
+                                    .append("onError", "$$memberId")
+                                    .append("onNull", "$$memberId")))))));
+            stages.add(stage("$lookup", new Document("from", "users")
+                    .append("localField", "memberObjectIds")
+                    .append("foreignField", "_id")
+                    .append("pipeline", List.of(new Document("$project",
+                            new Document("name", 1).append("picture", 1))))
+                    .append("as", "members")));
+            stages.add(stage("$project", new Document("memberObjectIds", 0)));
+        }
+
+        if (includeEvent) {
+            stages.add(eventSummaryLookup());
+            stages.add(stage("$addFields",
+                    new Document("event", new Document("$arrayElemAt", List.of("$event", 0)))));
+        }
+
+        return Optional.ofNullable(mongoTemplate
+                .aggregate(Aggregation.newAggregation(Group.class, stages), GroupView.class)
+                .getUniqueMappedResult());
+    }
+
+    /**
+     * Resolves an invite code or signed token to its group. Signature and expiry of a token are
+     * checked without the database; the group still has to be read to be returned, and that same
+     * primary-key read matches the token's invite version, so a revoked token finds nothing.
+     */
     public Optional<Group> getGroupByInviteCode(String inviteCode) {
-        return groupRepository.findByInviteCode(inviteCode);
+        if (InviteTokenService.isToken(inviteCode)) {
+            return inviteTokenService.verify(inviteCode)
+                    .filter(claims -> !claims.isExpired())
+                    .map(claims -> mongoTemplate.findOne(Query.query(Criteria.where("_id").is(claims.getGroupId())
+                            .andOperator(inviteVersionIs(claims.getVersion()))), Group.class));
+        }
+
+        Optional<Group> group = groupRepository.findByInviteCode(inviteCode);
+        if (group.isPresent()) {
+            return group;
+        }
+        return groupInviteRepository.findById(inviteCode)
+                .filter(GroupInvite::isUsable)
+                .flatMap(invite -> groupRepository.findById(invite.getGroupId()));
+    }
+
+    // Groups stored before invite versions existed have no field, which reads as version 0.
+    private static Criteria inviteVersionIs(int version) {
+        return version == 0
+                ? Criteria.where("inviteVersion").in(0, null)
+                : Criteria.where("inviteVersion").is(version);
     }
 
     public List<Group> getGroupsByCreator(String creatorId) {
         return groupRepository.findByCreatorId(creatorId);
     }
 
-    public List<Group> getGroupsByEvent(String eventId) {
-        return groupRepository.findByEventId(eventId);
+    public List<Group> getGroupsByEvent(String eventId, boolean includeArchived) {
+        if (!includeArchived) {
+            return groupRepository.findByEventId(eventId);
+        }
+        Criteria ofEvent = Criteria.where("eventId").is(eventId);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(ofEvent),
+                UnionWithOperation.unionWith(EventArchiver.GROUPS_ARCHIVE)
+                        .pipeline(Aggregation.match(ofEvent))
+                        .mapFieldsTo(Group.class));
+        return mongoTemplate.aggregate(aggregation, Group.class, Group.class).getMappedResults();
     }
 
     public List<Group> getGroupsByMember(String userId) {
         return groupRepository.findByMemberIdsContaining(userId);
     }
 
-    public Group joinGroupWithInviteCode(String inviteCode, String userId) {
-        Group group = getGroupByInviteCode(inviteCode)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid invite code"));
-
-        if (!group.hasSpace()) {
-            throw new IllegalArgumentException("Group is full");
+    /**
+     * Returns the groups of an event that can still accept members, fullest first, served by the
+     * partial index on (eventId, openSlots, memberCount) instead of filtering every group in memory.
+     */
+    public List<Group> getOpenGroupsByEvent(String eventId, int limit) {
+        if (limit < 1 || limit > MAX_OPEN_GROUPS_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_OPEN_GROUPS_LIMIT);
         }
+        Sort fullestFirst = Sort.by(Sort.Order.asc("openSlots"), Sort.Order.desc("memberCount"));
+        return groupRepository.findByEventIdAndOpenSlotsGreaterThan(eventId, 0, PageRequest.of(0, limit, fullestFirst));
+    }
 
-        if (group.isMember(userId)) {
-            throw new IllegalArgumentException("User is already a member of this group");
+    public Group joinGroupWithInviteCode(String inviteCode, String userId) {
+        if (InviteTokenService.isToken(inviteCode)) {
+            return joinWithInviteToken(inviteCode, userId);
         }
 
-        if (!group.addMember(userId)) {
-            throw new IllegalArgumentException("Failed to add user to group");
+        Optional<Group> group = groupRepository.findByInviteCode(inviteCode);
+        if (group.isPresent()) {
+            return addMember(group.get(), userId);
         }
 
-        return groupRepository.save(group);
+        return joinWithLimitedInvite(inviteCode, userId);
     }
 
-    public Group addMemberToGroup(String groupId, String userId) {
+    /**
+     * Issues a signed invite link for the group's current invite version. Regenerating the invite
+     * code bumps the version, which revokes every link issued before.
+     */
+    public String createInviteToken(String groupId, Integer expiresInHours) {
         Group group = getGroupById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
 
-        if (!group.hasSpace()) {
-            throw new IllegalArgumentException("Group is full");
+        int hours = expiresInHours != null ? expiresInHours : DEFAULT_INVITE_HOURS;
+        if (hours < 1) {
+            throw new IllegalArgumentException("An invite must be valid for at least one hour");
         }
 
-        if (group.isMember(userId)) {
-            throw new IllegalArgumentException("User is already a member of this group");
+        return inviteTokenService.issue(
+                group.getId(), group.getInviteVersion(), Instant.now().plus(hours, ChronoUnit.HOURS));
+    }
+
+    /**
+     * Issues an invite that stops working after the given number of joins or hours. Expired
+     * invites are removed by the TTL index on expiresAt, never by a scan.
+     */
+    public GroupInvite createInvite(String groupId, Integer maxUses, Integer expiresInHours) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new IllegalArgumentException("Group not found with ID: " + groupId);
         }
 
-        if (!group.addMember(userId)) {
-            throw new IllegalArgumentException("Failed to add user to group");
+        int uses = maxUses != null ? maxUses : DEFAULT_INVITE_USES;
+        int hours = expiresInHours != null ? expiresInHours : DEFAULT_INVITE_HOURS;
+        if (uses < 1) {
+            throw new IllegalArgumentException("An invite must allow at least one use");
+        }
+        if (hours < 1) {
+            throw new IllegalArgumentException("An invite must be valid for at least one hour");
         }
 
-        return groupRepository.save(group);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(hours);
+        while (true) {
+            try {
+                return groupInviteRepository.insert(
+                        new GroupInvite(randomCode(LIMITED_INVITE_CODE_LENGTH), groupId, uses, expiresAt));
+            } catch (DuplicateKeyException e) {
+                // Code already taken by another invite, draw a new one.
+            }
+        }
     }
 
-    public Group removeMemberFromGroup(String groupId, String userId) {
+    public Group addMemberToGroup(String groupId, String userId) {
         Group group = getGroupById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
 
-        if (!group.removeMember(userId)) {
+        return addMember(group, userId);
+    }
+
+    public Group removeMemberFromGroup(String groupId, String userId) {
+        Group group = modifyGroup(
+                Query.query(Criteria.where("_id").is(groupId).and("memberIds").is(userId)),
+                new Update().pull("memberIds", userId).inc("memberCount", -1).inc("openSlots", 1));
+
+        if (group == null) {
+            if (!groupRepository.existsById(groupId)) {
+                throw new IllegalArgumentException("Group not found with ID: " + groupId);
+            }
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
-        return groupRepository.save(group);
+        if (group.isWaitlistEnabled()) {
+            Group promoted = promoteFromWaitlist(groupId);
+            if (promoted != null) {
+                return promoted;
+            }
+        }
+
+        return group;
     }
 
-    public Group updateGroup(String groupId, String name, String description, Integer maxMembers) {
+    public Group updateGroup(
+            String groupId, String name, String description, Integer maxMembers, Boolean waitlistEnabled) {
         Group group = getGroupById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
 
+        Query query = Query.query(Criteria.where("_id").is(groupId));
+        Update update = new Update();
+
         if (name != null && !name.trim().isEmpty()) {
-            group.setName(name);
+            update.set("name", name);
         }
 
         if (description != null) {
-            group.setDescription(description);
+            update.set("description", description);
         }
 
         if (maxMembers != null && maxMembers > 0) {
             if (maxMembers < group.getMemberCount()) {
                 throw new IllegalArgumentException("Max members cannot be less than current member count");
             }
-            group.setMaxMembers(maxMembers);
+            // Only apply the new limit if nobody changed it or joined past it since we validated.
+            query.addCriteria(Criteria.where("maxMembers").is(group.getMaxMembers())
+                    .and("memberCount").lte(maxMembers));
+            update.set("maxMembers", maxMembers).inc("openSlots", maxMembers - group.getMaxMembers());
         }
 
-        return groupRepository.save(group);
+        if (waitlistEnabled != null) {
+            update.set("waitlistEnabled", waitlistEnabled);
+        }
+
+        Group updated = modifyGroup(query, update);
+        if (updated == null) {
+            throw new IllegalArgumentException("Group was modified concurrently, please retry");
+        }
+
+        if (!updated.isWaitlistEnabled()) {
+            if (group.isWaitlistEnabled()) {
+                waitlistRepository.deleteByGroupId(groupId);
+            }
+        } else if (updated.hasSpace()) {
+            Group promoted = promoteFromWaitlist(groupId);
+            if (promoted != null) {
+                return promoted;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Queues a user for a full group. Tickets come from an atomic per-group counter, so the queue
+     * order is the order in which joins reached the database.
+     */
+    public WaitlistEntry joinWaitlist(String groupId, String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("User ID cannot be empty");
+        }
+
+        Group group = getGroupById(groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
+
+        if (!group.isWaitlistEnabled()) {
+            throw new IllegalArgumentException("Waitlist is not enabled for this group");
+        }
+
+        if (group.isMember(userId)) {
+            throw new IllegalArgumentException("User is already a member of this group");
+        }
+
+        if (group.hasSpace()) {
+            throw new IllegalArgumentException("Group has space available, join it directly");
+        }
+
+        Group sequenced = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(groupId)),
+                new Update().inc("waitlistSequence", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Group.class);
+        if (sequenced == null) {
+            throw new IllegalArgumentException("Group not found with ID: " + groupId);
+        }
+
+        WaitlistEntry entry;
+        try {
+            entry = waitlistRepository.insert(new WaitlistEntry(groupId, userId, sequenced.getWaitlistSequence()));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("User is already on the waitlist for this group");
+        }
+
+        // A member may have left between the capacity check and the insert, in which case nobody
+        // would promote this entry; re-check once so it does not wait for a slot that is already free.
+        if (groupRepository.findById(groupId).map(Group::hasSpace).orElse(false)) {
+            promoteFromWaitlist(groupId);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Returns the 1-based position of a user in a group's waitlist. The count is a covered scan of
+     * the (groupId, sequence) index, so it reads one index key per entry ahead of the user (linear in
+     * the position) but never loads those entries.
+     */
+    public long getWaitlistPosition(String groupId, String userId) {
+        WaitlistEntry entry = waitlistRepository.findByGroupIdAndUserId(groupId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("User is not on the waitlist for this group"));
+
+        return waitlistRepository.countByGroupIdAndSequenceLessThan(groupId, entry.getSequence()) + 1;
+    }
+
+    public void leaveWaitlist(String groupId, String userId) {
+        if (waitlistRepository.deleteByGroupIdAndUserId(groupId, userId) == 0) {
+            throw new IllegalArgumentException("User is not on the waitlist for this group");
+        }
     }
 
     public void deleteGroup(String groupId) {
@@ -132,6 +416,8 @@ public class GroupService {
             throw new IllegalArgumentException("Group not found with ID: " + groupId);
         }
         groupRepository.deleteById(groupId);
+        waitlistRepository.deleteByGroupId(groupId);
+        groupInviteRepository.deleteByGroupId(groupId);
     }
 
     public List<Group> getAllGroups() {
@@ -139,7 +425,7 @@ public class GroupService {
     }
 
     public String generateNewInviteCode(String groupId) {
-        Group group = getGroupById(groupId)
+        getGroupById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found with ID: " + groupId));
 
         String newInviteCode;
@@ -147,12 +433,244 @@ public class GroupService {
             newInviteCode = generateUniqueInviteCode();
         } while (groupRepository.existsByInviteCode(newInviteCode));
 
-        group.setInviteCode(newInviteCode);
-        groupRepository.save(group);
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(groupId)),
+                Update.update("inviteCode", newInviteCode)
+                        .inc("inviteVersion", 1)
+                        .set("updatedAt", LocalDateTime.now()),
+                Group.class);
 
         return newInviteCode;
     }
 
+    /**
+     * Fills memberCount and openSlots on groups stored before those fields existed, so they show up
+     * in open-group queries and take part in the counter-guarded membership updates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMembershipCounters() {
+        try {
+            long updated = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Group.class)).updateMany(
+                    Filters.exists("openSlots", false),
+                    List.of(
+                            new Document("$set", new Document("memberCount", new Document("$size",
+                                    new Document("$ifNull", List.of("$memberIds", List.of()))))),
+                            new Document("$set", new Document("openSlots", new Document("$max", List.of(0,
+                                    new Document("$subtract", List.of("$maxMembers", "$memberCount"))))))))
+                    .getModifiedCount();
+            if (updated > 0) {
+                logger.info("Backfilled membership counters on {} groups", updated);
+            }
+        } catch (MongoException e) {
+            logger.warn("Could not backfill group membership counters", e);
+        }
+    }
+
+    /**
+     * Embeds the event summary in groups stored before it existed. The summaries are joined and
+     * written back by a single $merge aggregation, without loading the groups into the application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillEventSummaries() {
+        try {
+            mongoTemplate.aggregate(Aggregation.newAggregation(Group.class,
+                    Aggregation.match(Criteria.where("eventId").ne(null).and("event").exists(false)),
+                    eventSummaryLookup(),
+                    stage("$project", new Document("event", new Document("$arrayElemAt", List.of("$event", 0)))),
+                    Aggregation.match(Criteria.where("event").exists(true)),
+                    Aggregation.merge()
+                            .intoCollection(mongoTemplate.getCollectionName(Group.class))
+                            .on("_id")
+                            .whenMatched(MergeOperation.WhenDocumentsMatch.mergeDocuments())
+                            .whenNotMatched(MergeOperation.WhenDocumentsDontMatch.discardDocument())
+                            .build()), Document.class);
+        } catch (DataAccessException e) {
+            logger.warn("Could not backfill event summaries on groups", e);
+        }
+    }
+
+    /**
+     * Resumes promotions whose promoter stopped between claiming a waiter and deleting the entry,
+     * so a crash mid-promotion never leaves a waiter claimed or a freed slot unfilled.
+     */
+    @Scheduled(fixedDelayString = "${app.groups.waitlist.recovery-interval-ms:60000}")
+    public void resumeStalledPromotions() {
+        try {
+            Query stalled = Query.query(
+                    Criteria.where("claimedAt").lt(LocalDateTime.now().minus(WAITLIST_CLAIM_TIMEOUT)));
+            for (String groupId : mongoTemplate.findDistinct(stalled, "groupId", WaitlistEntry.class, String.class)) {
+                promoteFromWaitlist(groupId);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not resume stalled waitlist promotions", e);
+        }
+    }
+
+    private EventSummary findEventSummary(String eventId) {
+        Query query = Query.query(Criteria.where("_id").is(eventId));
+        query.fields().include("title", "date", "location", "category");
+        Event event = mongoTemplate.findOne(query, Event.class);
+        return event != null ? new EventSummary(event) : null;
+    }
+
+    private static AggregationOperation eventSummaryLookup() {
+        return stage("$lookup", new Document("from", "events")
+                .append("localField", "eventId")
+                .append("foreignField", "_id")
+                .append("pipeline", List.of(new Document("$project", new Document("title", 1)
+                        .append("date", 1)
+                        .append("location", 1)
+                        .append("category", 1))))
+                .append("as", "event"));
+    }
+
+    private Group joinWithInviteToken(String token, String userId) {
+        InviteTokenService.InviteClaims claims = inviteTokenService.verify(token)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid invite code"));
+        if (claims.isExpired()) {
+            throw new IllegalArgumentException("Invite link has expired");
+        }
+
+        Group group = getGroupById(claims.getGroupId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid invite code"));
+        if (group.getInviteVersion() != claims.getVersion()) {
+            throw new IllegalArgumentException("Invite link has been revoked");
+        }
+
+        return addMember(group, userId);
+    }
+
+    // A use is claimed with a conditional $inc before joining, so concurrent joins can never exceed
+    // maxUses; if the join itself is rejected the use is handed back.
+    private Group joinWithLimitedInvite(String inviteCode, String userId) {
+        GroupInvite invite = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(inviteCode)
+                        .and("remainingUses").gt(0)
+                        .and("expiresAt").gt(LocalDateTime.now())),
+                new Update().inc("remainingUses", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                GroupInvite.class);
+        if (invite == null) {
+            throw new IllegalArgumentException("Invalid invite code");
+        }
+
+        Group joined;
+        try {
+            Group group = getGroupById(invite.getGroupId())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid invite code"));
+            joined = addMember(group, userId);
+        } catch (IllegalArgumentException e) {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(inviteCode)),
+                    new Update().inc("remainingUses", 1),
+                    GroupInvite.class);
+            throw e;
+        }
+
+        if (invite.getRemainingUses() == 0) {
+            groupInviteRepository.deleteById(inviteCode);
+        }
+        return joined;
+    }
+
+    // Membership changes are applied as single conditional updates rather than read-modify-save, so
+    // memberIds, memberCount and openSlots stay consistent under concurrent joins and leaves.
+    private Group addMember(Group group, String userId) {
+        if (!group.hasSpace()) {
+            throw new IllegalArgumentException("Group is full");
+        }
+
+        if (group.isMember(userId)) {
+            throw new IllegalArgumentException("User is already a member of this group");
+        }
+
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Failed to add user to group");
+        }
+
+        Group updated = modifyGroup(
+                Query.query(Criteria.where("_id").is(group.getId())
+                        .and("openSlots").gt(0)
+                        .and("memberIds").ne(userId)),
+                new Update().push("memberIds", userId).inc("memberCount", 1).inc("openSlots", -1));
+
+        if (updated == null) {
+            boolean alreadyMember = groupRepository.findById(group.getId())
+                    .map(current -> current.isMember(userId))
+                    .orElse(false);
+            throw new IllegalArgumentException(
+                    alreadyMember ? "User is already a member of this group" : "Group is full");
+        }
+
+        trendingService.record(updated.getEventId(), TrendingService.Activity.GROUP_JOINED);
+        return updated;
+    }
+
+    /**
+     * Moves waiters into free slots in ticket order. Each waiter is claimed with findAndModify, so
+     * concurrent promoters never hand the same entry out twice, and the entry is only deleted once
+     * the user is a member. If a direct join takes the slot first, the claim is released and the
+     * entry keeps its ticket; a claim left behind by a promoter that stopped halfway is taken over
+     * after {@link #WAITLIST_CLAIM_TIMEOUT}.
+     */
+    private Group promoteFromWaitlist(String groupId) {
+        Group latest = null;
+
+        WaitlistEntry next;
+        while ((next = claimWaitlistHead(groupId)) != null) {
+            String userId = next.getUserId();
+            Query claimed = Query.query(Criteria.where("_id").is(next.getId()).and("claimedAt").is(next.getClaimedAt()));
+            Group promoted = modifyGroup(
+                    Query.query(Criteria.where("_id").is(groupId)
+                            .and("openSlots").gt(0)
+                            .and("memberIds").ne(userId)),
+                    new Update().push("memberIds", userId).inc("memberCount", 1).inc("openSlots", -1));
+
+            if (promoted != null) {
+                mongoTemplate.remove(claimed, WaitlistEntry.class);
+                trendingService.record(promoted.getEventId(), TrendingService.Activity.GROUP_JOINED);
+                latest = promoted;
+                if (!promoted.hasSpace()) {
+                    break;
+                }
+                continue;
+            }
+
+            Group current = groupRepository.findById(groupId).orElse(null);
+            if (current == null) {
+                break;
+            }
+            if (current.isMember(userId)) {
+                // Joined directly, or promoted by a run that stopped before the delete; try the next waiter.
+                mongoTemplate.remove(claimed, WaitlistEntry.class);
+                continue;
+            }
+            mongoTemplate.updateFirst(claimed, new Update().unset("claimedAt"), WaitlistEntry.class);
+            break;
+        }
+
+        return latest;
+    }
+
+    private WaitlistEntry claimWaitlistHead(String groupId) {
+        LocalDateTime now = LocalDateTime.now();
+        Query head = Query.query(Criteria.where("groupId").is(groupId).orOperator(
+                        Criteria.where("claimedAt").is(null),
+                        Criteria.where("claimedAt").lt(now.minus(WAITLIST_CLAIM_TIMEOUT))))
+                .with(Sort.by("sequence"));
+        return mongoTemplate.findAndModify(
+                head, Update.update("claimedAt", now), FindAndModifyOptions.options().returnNew(true), WaitlistEntry.class);
+    }
+
+    private Group modifyGroup(Query query, Update update) {
+        update.set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Group.class);
+    }
+
+    private static AggregationOperation stage(String operator, Document specification) {
+        return context -> new Document(operator, specification);
+    }
+
     private String generateUniqueInviteCode() {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
         StringBuilder code = new StringBuilder();
@@ -161,4 +679,12 @@ public class GroupService {
         }
         return code.toString();
     }
+
+    private String randomCode(int length) {
+        StringBuilder code = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            code.append(INVITE_CODE_CHARS.charAt(random.nextInt(INVITE_CODE_CHARS.length())));
+        }
+        return code.toString();
+    }
 }
\ No newline at end of file
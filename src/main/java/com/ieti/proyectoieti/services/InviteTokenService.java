@@ -0,0 +1,123 @@
+package com.ieti.proyectoieti.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues and verifies self-contained invite tokens of the form {@code payload.signature}, where the
+ * payload carries the group id, expiry and invite version and the signature is an HMAC-SHA256 over
+ * it. A valid token names its group directly, so it can be resolved by primary key without going
+ * through the invite code index.
+ */
+@Service
+public class InviteTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InviteTokenService.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char TOKEN_SEPARATOR = '.';
+    private static final char FIELD_SEPARATOR = ':';
+
+    private final SecretKeySpec key;
+
+    public InviteTokenService(@Value("${app.invites.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("app.invites.token-secret is not set; invite tokens will not survive a restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    /** Tells signed tokens apart from plain invite codes, which never contain a separator. */
+    public static boolean isToken(String code) {
+        return code != null && code.indexOf(TOKEN_SEPARATOR) > 0;
+    }
+
+    public String issue(String groupId, int version, Instant expiresAt) {
+        String payload = groupId + FIELD_SEPARATOR + expiresAt.getEpochSecond() + FIELD_SEPARATOR + version;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + TOKEN_SEPARATOR + encoder.encodeToString(sign(payloadBytes));
+    }
+
+    /** Returns the claims of a well-formed, correctly signed token, whether or not it has expired. */
+    public Optional<InviteClaims> verify(String token) {
+        if (!isToken(token)) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf(TOKEN_SEPARATOR);
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payloadBytes = decoder.decode(token.substring(0, separator));
+            byte[] signature = decoder.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String payload = new String(payloadBytes, StandardCharsets.UTF_8);
+            int versionStart = payload.lastIndexOf(FIELD_SEPARATOR);
+            int expiryStart = payload.lastIndexOf(FIELD_SEPARATOR, versionStart - 1);
+            if (expiryStart <= 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new InviteClaims(
+                    payload.substring(0, expiryStart),
+                    Instant.ofEpochSecond(Long.parseLong(payload.substring(expiryStart + 1, versionStart))),
+                    Integer.parseInt(payload.substring(versionStart + 1))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    public static final class InviteClaims {
+        private final String groupId;
+        private final Instant expiresAt;
+        private final int version;
+
+        public InviteClaims(String groupId, Instant expiresAt, int version) {
+            this.groupId = groupId;
+            this.expiresAt = expiresAt;
+            this.version = version;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public boolean isExpired() {
+            return !expiresAt.isAfter(Instant.now());
+        }
+    }
+}
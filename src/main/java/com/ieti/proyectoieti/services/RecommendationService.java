@@ -0,0 +1,265 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventSummary;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.RecommendedEvent;
+import com.ieti.proyectoieti.models.UserRecommendations;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Recommends upcoming events by how many of a user's co-members, the people sharing at least one
+ * group with them, are in a group for the event. A periodic job loads every group once into
+ * int-indexed adjacency arrays (group to members, user to groups, group to event), scores all users
+ * in parallel over those arrays, and stores each user's list under their id, so a request is a
+ * single primary-key read.
+ */
+@Service
+public class RecommendationService {
+
+  private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+  private static final int WRITE_BATCH_SIZE = 500;
+
+  private final MongoTemplate mongoTemplate;
+  private final int maxPerUser;
+
+  public RecommendationService(
+          MongoTemplate mongoTemplate, @Value("${app.recommendations.max-per-user:20}") int maxPerUser) {
+    this.mongoTemplate = mongoTemplate;
+    this.maxPerUser = maxPerUser;
+  }
+
+  public List<RecommendedEvent> getRecommendations(String userId) {
+    UserRecommendations stored = mongoTemplate.findById(userId, UserRecommendations.class);
+    return stored != null && stored.getEvents() != null ? stored.getEvents() : List.of();
+  }
+
+  @Scheduled(
+          fixedDelayString = "${app.recommendations.refresh-interval-ms:3600000}",
+          initialDelayString = "${app.recommendations.initial-delay-ms:60000}")
+  public void refresh() {
+    LocalDateTime computedAt = LocalDateTime.now();
+    long start = System.nanoTime();
+    try {
+      Graph graph = loadGraph();
+      int users = graph.userIds.size();
+      int chunks = Math.max(1, Math.min(users, Runtime.getRuntime().availableProcessors() * 2));
+      // Each chunk gets its own scratch arrays and writes its own results, so nothing is shared
+      // between threads and the full set of recommendations is never held at once.
+      IntStream.range(0, chunks).parallel().forEach(chunk -> {
+        Scratch scratch = new Scratch(users, graph.events.size());
+        Writer writer = new Writer();
+        for (int user = (int) ((long) users * chunk / chunks); user < (long) users * (chunk + 1) / chunks; user++) {
+          writer.add(new UserRecommendations(graph.userIds.get(user), recommend(graph, scratch, user), computedAt));
+        }
+        writer.flush();
+      });
+      // Users who no longer belong to any group were not rewritten by this run.
+      mongoTemplate.remove(Query.query(Criteria.where("computedAt").lt(computedAt)), UserRecommendations.class);
+      logger.info("Computed event recommendations for {} users over {} groups in {} ms",
+              users, graph.groupEvent.length, (System.nanoTime() - start) / 1_000_000);
+    } catch (DataAccessException e) {
+      logger.warn("Could not refresh event recommendations", e);
+    }
+  }
+
+  private List<RecommendedEvent> recommend(Graph graph, Scratch scratch, int user) {
+    long userStamp = ++scratch.stamp;
+    for (int i = graph.userGroupStart[user]; i < graph.userGroupStart[user + 1]; i++) {
+      int event = graph.groupEvent[graph.userGroups[i]];
+      if (event >= 0) {
+        scratch.attending[event] = userStamp;
+      }
+    }
+    int touched = 0;
+    for (int i = graph.userGroupStart[user]; i < graph.userGroupStart[user + 1]; i++) {
+      int group = graph.userGroups[i];
+      for (int j = graph.memberStart[group]; j < graph.memberStart[group + 1]; j++) {
+        int coMember = graph.members[j];
+        if (coMember == user || scratch.seen[coMember] == userStamp) {
+          continue;
+        }
+        scratch.seen[coMember] = userStamp;
+        // A co-member in several groups of the same event still counts once for it.
+        long visit = ++scratch.stamp;
+        for (int k = graph.userGroupStart[coMember]; k < graph.userGroupStart[coMember + 1]; k++) {
+          int event = graph.groupEvent[graph.userGroups[k]];
+          if (event < 0 || scratch.attending[event] == userStamp || scratch.counted[event] == visit) {
+            continue;
+          }
+          scratch.counted[event] = visit;
+          if (scratch.scored[event] != userStamp) {
+            scratch.scored[event] = userStamp;
+            scratch.score[event] = 0;
+            scratch.touched[touched++] = event;
+          }
+          scratch.score[event]++;
+        }
+      }
+    }
+    if (touched == 0) {
+      return List.of();
+    }
+    return IntStream.of(scratch.touched).limit(touched)
+            .boxed()
+            .sorted(Comparator.comparingInt((Integer event) -> -scratch.score[event])
+                    .thenComparing(event -> graph.events.get(event).getDate(),
+                            Comparator.nullsLast(Comparator.naturalOrder())))
+            .limit(maxPerUser)
+            .map(event -> new RecommendedEvent(graph.events.get(event), scratch.score[event]))
+            .toList();
+  }
+
+  private Graph loadGraph() {
+    LocalDate today = LocalDate.now();
+    Query upcoming = Query.query(new Criteria().orOperator(
+            Criteria.where("recurrence").is(null).and("date").gt(today),
+            Criteria.where("recurrence").ne(null).orOperator(
+                    Criteria.where("recurrence.until").is(null),
+                    Criteria.where("recurrence.until").gt(today))));
+    upcoming.fields().include("title", "date", "location", "category");
+    Map<String, Integer> eventIndex = new HashMap<>();
+    List<EventSummary> events = new ArrayList<>();
+    try (Stream<Event> cursor = mongoTemplate.stream(upcoming, Event.class)) {
+      cursor.forEach(event -> {
+        eventIndex.put(event.getId(), events.size());
+        events.add(new EventSummary(event));
+      });
+    }
+
+    Query allGroups = new Query();
+    allGroups.fields().include("eventId", "memberIds");
+    Map<String, Integer> userIndex = new HashMap<>();
+    List<String> userIds = new ArrayList<>();
+    List<int[]> groupMembers = new ArrayList<>();
+    List<Integer> groupEvents = new ArrayList<>();
+    try (Stream<Group> cursor = mongoTemplate.stream(allGroups, Group.class)) {
+      Iterator<Group> iterator = cursor.iterator();
+      while (iterator.hasNext()) {
+        Group group = iterator.next();
+        if (group.getMemberIds() == null || group.getMemberIds().isEmpty()) {
+          continue;
+        }
+        groupMembers.add(group.getMemberIds().stream()
+                .filter(Objects::nonNull)
+                .mapToInt(memberId -> userIndex.computeIfAbsent(memberId, id -> {
+                  userIds.add(id);
+                  return userIds.size() - 1;
+                }))
+                .distinct()
+                .toArray());
+        groupEvents.add(group.getEventId() != null ? eventIndex.getOrDefault(group.getEventId(), -1) : -1);
+      }
+    }
+    return new Graph(userIds, events, groupMembers, groupEvents);
+  }
+
+  /** Groups and memberships in compressed sparse row form, with users and events numbered densely. */
+  private static final class Graph {
+    private final List<String> userIds;
+    private final List<EventSummary> events;
+    private final int[] groupEvent;
+    private final int[] memberStart;
+    private final int[] members;
+    private final int[] userGroupStart;
+    private final int[] userGroups;
+
+    Graph(List<String> userIds, List<EventSummary> events, List<int[]> groupMembers, List<Integer> groupEvents) {
+      this.userIds = userIds;
+      this.events = events;
+      int groups = groupMembers.size();
+      this.groupEvent = groupEvents.stream().mapToInt(Integer::intValue).toArray();
+      this.memberStart = new int[groups + 1];
+      for (int group = 0; group < groups; group++) {
+        memberStart[group + 1] = memberStart[group] + groupMembers.get(group).length;
+      }
+      this.members = new int[memberStart[groups]];
+      this.userGroupStart = new int[userIds.size() + 1];
+      for (int group = 0; group < groups; group++) {
+        int[] groupMemberIds = groupMembers.get(group);
+        System.arraycopy(groupMemberIds, 0, members, memberStart[group], groupMemberIds.length);
+        for (int member : groupMemberIds) {
+          userGroupStart[member + 1]++;
+        }
+      }
+      for (int user = 0; user < userIds.size(); user++) {
+        userGroupStart[user + 1] += userGroupStart[user];
+      }
+      this.userGroups = new int[members.length];
+      int[] next = userGroupStart.clone();
+      for (int group = 0; group < groups; group++) {
+        for (int j = memberStart[group]; j < memberStart[group + 1]; j++) {
+          userGroups[next[members[j]]++] = group;
+        }
+      }
+    }
+  }
+
+  /**
+   * Per-thread working arrays. Entries are valid only when their stamp matches the current user or
+   * co-member visit, which saves clearing the arrays between users.
+   */
+  private static final class Scratch {
+    private final long[] seen;
+    private final long[] attending;
+    private final long[] counted;
+    private final long[] scored;
+    private final int[] score;
+    private final int[] touched;
+    private long stamp;
+
+    Scratch(int users, int events) {
+      this.seen = new long[users];
+      this.attending = new long[events];
+      this.counted = new long[events];
+      this.scored = new long[events];
+      this.score = new int[events];
+      this.touched = new int[events];
+    }
+  }
+
+  private final class Writer {
+    private BulkOperations bulk;
+    private int pending;
+
+    void add(UserRecommendations recommendations) {
+      if (bulk == null) {
+        bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserRecommendations.class);
+      }
+      bulk.replaceOne(Query.query(Criteria.where("_id").is(recommendations.getUserId())),
+              recommendations, FindAndReplaceOptions.options().upsert());
+      if (++pending == WRITE_BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (bulk != null) {
+        bulk.execute();
+        bulk = null;
+        pending = 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventCapacityShard;
+import com.ieti.proyectoieti.models.EventReservation;
+import com.ieti.proyectoieti.repositories.EventRepository;
+import com.ieti.proyectoieti.repositories.EventReservationRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * RSVPs for events with an optional capacity. Remaining places live in a few counter documents per
+ * event and are only ever taken with a conditional {@code $inc}, so concurrent RSVPs cannot push a
+ * counter below zero. A place is first held for a few minutes and then confirmed; holds that lapse
+ * are handed back to their counter by a scheduled job.
+ */
+@Service
+public class RsvpService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RsvpService.class);
+    private static final int NO_SHARD = -1;
+    private static final int RECLAIM_BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final EventReservationRepository reservationRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TrendingService trendingService;
+    private final int capacityShards;
+    private final int holdMinutes;
+
+    public RsvpService(
+            EventRepository eventRepository,
+            EventReservationRepository reservationRepository,
+            MongoTemplate mongoTemplate,
+            TrendingService trendingService,
+            @Value("${app.rsvp.capacity-shards:4}") int capacityShards,
+            @Value("${app.rsvp.hold-minutes:10}") int holdMinutes) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.trendingService = trendingService;
+        this.capacityShards = Math.max(1, capacityShards);
+        this.holdMinutes = holdMinutes;
+    }
+
+    /**
+     * Splits the capacity of a newly created event over its counter documents. The configured shard
+     * count only applies here; holds use whichever counters the event was created with.
+     */
+    public void initializeCapacity(Event event) {
+        if (event.getCapacity() == null) {
+            return;
+        }
+        int capacity = event.getCapacity();
+        int shards = Math.min(capacity, capacityShards);
+        List<EventCapacityShard> counters = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            counters.add(new EventCapacityShard(event.getId(), shard, capacity / shards + (shard < capacity % shards ? 1 : 0)));
+        }
+        mongoTemplate.insertAll(counters);
+    }
+
+    /**
+     * Holds a place for the user. Asking again while a hold or confirmation is active returns it
+     * unchanged.
+     */
+    public EventReservation hold(String eventId, String userId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found with ID: " + eventId));
+
+        Optional<EventReservation> existing = reservationRepository.findByEventIdAndUserId(eventId, userId);
+        if (existing.isPresent()) {
+            if (existing.get().isActive()) {
+                return existing.get();
+            }
+            releaseExpiredHold(existing.get());
+        }
+
+        int shard = event.getCapacity() == null ? NO_SHARD : claimPlace(eventId);
+        try {
+            return reservationRepository.insert(
+                    new EventReservation(eventId, userId, shard, LocalDateTime.now().plusMinutes(holdMinutes)));
+        } catch (DuplicateKeyException e) {
+            // A concurrent request for the same user won; keep its place and return ours.
+            releasePlace(eventId, shard);
+            return reservationRepository.findByEventIdAndUserId(eventId, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Reservation could not be placed, try again"));
+        }
+    }
+
+    public EventReservation confirm(String eventId, String userId) {
+        Query activeHold = Query.query(Criteria.where("eventId").is(eventId)
+                .and("userId").is(userId)
+                .and("status").is(EventReservation.Status.HELD)
+                .and("expiresAt").gt(LocalDateTime.now()));
+        Update confirmation = new Update()
+                .set("status", EventReservation.Status.CONFIRMED)
+                .set("confirmedAt", LocalDateTime.now())
+                .unset("expiresAt");
+        EventReservation confirmed = mongoTemplate.findAndModify(
+                activeHold, confirmation, FindAndModifyOptions.options().returnNew(true), EventReservation.class);
+        if (confirmed != null) {
+            trendingService.record(eventId, TrendingService.Activity.RSVP_CONFIRMED);
+            return confirmed;
+        }
+
+        EventReservation current = reservationRepository.findByEventIdAndUserId(eventId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("No reservation found for user: " + userId));
+        if (current.getStatus() == EventReservation.Status.CONFIRMED) {
+            return current;
+        }
+        throw new IllegalArgumentException("The hold has expired, please RSVP again");
+    }
+
+    public void cancel(String eventId, String userId) {
+        EventReservation removed = mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("eventId").is(eventId).and("userId").is(userId)), EventReservation.class);
+        if (removed == null) {
+            throw new IllegalArgumentException("No reservation found for user: " + userId);
+        }
+        releasePlace(eventId, removed.getShard());
+    }
+
+    /** Places still available, or empty for events without a capacity limit. */
+    public Optional<Integer> getRemainingPlaces(String eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found with ID: " + eventId));
+        if (event.getCapacity() == null) {
+            return Optional.empty();
+        }
+        Query counters = Query.query(Criteria.where("eventId").is(eventId));
+        counters.fields().include("remaining");
+        return Optional.of(mongoTemplate.find(counters, EventCapacityShard.class).stream()
+                .mapToInt(EventCapacityShard::getRemaining)
+                .sum());
+    }
+
+    public void deleteForEvent(String eventId) {
+        reservationRepository.deleteByEventId(eventId);
+        mongoTemplate.remove(Query.query(Criteria.where("eventId").is(eventId)), EventCapacityShard.class);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rsvp.reclaim-interval-ms:30000}")
+    public void reclaimExpiredHolds() {
+        Query expired = Query.query(Criteria.where("status").is(EventReservation.Status.HELD)
+                .and("expiresAt").lte(LocalDateTime.now()))
+                .limit(RECLAIM_BATCH_SIZE);
+        int released = 0;
+        for (EventReservation hold : mongoTemplate.find(expired, EventReservation.class)) {
+            if (releaseExpiredHold(hold)) {
+                released++;
+            }
+        }
+        if (released > 0) {
+            logger.info("Released {} expired RSVP holds", released);
+        }
+    }
+
+    // Only the event's own counters that still have places are tried: app.rsvp.capacity-shards may
+    // have changed since they were created. Starts at a random one so concurrent requests spread
+    // over them, then walks the rest before reporting the event as full.
+    private int claimPlace(String eventId) {
+        Query withPlaces = Query.query(Criteria.where("eventId").is(eventId).and("remaining").gt(0));
+        withPlaces.fields().include("shard");
+        List<Integer> shards = mongoTemplate.find(withPlaces, EventCapacityShard.class).stream()
+                .map(EventCapacityShard::getShard)
+                .toList();
+        int start = shards.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = shards.get((start + i) % shards.size());
+            Query available = Query.query(Criteria.where("_id").is(EventCapacityShard.idOf(eventId, shard))
+                    .and("remaining").gt(0));
+            EventCapacityShard claimed = mongoTemplate.findAndModify(
+                    available, new Update().inc("remaining", -1), EventCapacityShard.class);
+            if (claimed != null) {
+                return shard;
+            }
+        }
+        throw new IllegalArgumentException("Event is full");
+    }
+
+    // Only the caller that actually removes the hold gives its place back, so a hold is never
+    // released twice by the scheduler and a new RSVP racing on it.
+    private boolean releaseExpiredHold(EventReservation hold) {
+        Query expiredHold = Query.query(Criteria.where("_id").is(hold.getId())
+                .and("status").is(EventReservation.Status.HELD)
+                .and("expiresAt").lte(LocalDateTime.now()));
+        EventReservation removed = mongoTemplate.findAndRemove(expiredHold, EventReservation.class);
+        if (removed == null) {
+            return false;
+        }
+        releasePlace(removed.getEventId(), removed.getShard());
+        return true;
+    }
+
+    private void releasePlace(String eventId, int shard) {
+        if (shard == NO_SHARD) {
+            return;
+        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(EventCapacityShard.idOf(eventId, shard))),
+                new Update().inc("remaining", 1),
+                EventCapacityShard.class);
+    }
+}
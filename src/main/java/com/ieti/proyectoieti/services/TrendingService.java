@@ -0,0 +1,156 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventTrend;
+import com.ieti.proyectoieti.models.TrendingEvent;
+import com.ieti.proyectoieti.repositories.EventRepository;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ranks events by exponentially decayed activity. Each activity folds into the event's stored score
+ * with a single pipeline update that first decays the old value, and a scheduled refresh keeps the
+ * current top events in memory, so reading the ranking never queries MongoDB.
+ */
+@Service
+public class TrendingService {
+
+  public enum Activity {
+    GROUP_CREATED(3.0),
+    GROUP_JOINED(1.0),
+    RSVP_CONFIRMED(2.0);
+
+    private final double weight;
+
+    Activity(double weight) {
+      this.weight = weight;
+    }
+
+    public double getWeight() {
+      return weight;
+    }
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+  private static final String TRENDS_COLLECTION = "event_trends";
+  private static final int TOP_K = 50;
+  private static final Duration ACTIVITY_WINDOW = Duration.ofDays(7);
+
+  private final EventRepository eventRepository;
+  private final MongoTemplate mongoTemplate;
+  private final double decayPerMilli;
+
+  private volatile List<TrendingEvent> ranking = List.of();
+
+  public TrendingService(
+          EventRepository eventRepository,
+          MongoTemplate mongoTemplate,
+          @Value("${app.trending.half-life-hours:24}") double halfLifeHours) {
+    this.eventRepository = eventRepository;
+    this.mongoTemplate = mongoTemplate;
+    this.decayPerMilli = Math.log(2) / Duration.ofMinutes(Math.round(halfLifeHours * 60)).toMillis();
+  }
+
+  /**
+   * Adds an activity to the event's score. Popularity is best effort, so a failed write is logged
+   * instead of failing the join or RSVP that caused it.
+   */
+  public void record(String eventId, Activity activity) {
+    if (eventId == null) {
+      return;
+    }
+    Date now = new Date();
+    Document elapsedMillis = new Document("$subtract", List.of(now, new Document("$ifNull", List.of("$updatedAt", now))));
+    Document decayed = new Document("$multiply", List.of(
+            new Document("$ifNull", List.of("$score", 0)),
+            new Document("$exp", new Document("$multiply", List.of(-decayPerMilli, elapsedMillis)))));
+    try {
+      mongoTemplate.getCollection(TRENDS_COLLECTION).updateOne(
+              Filters.eq("_id", eventId),
+              List.of(new Document("$set", new Document("score", new Document("$add", List.of(decayed, activity.getWeight())))
+                      .append("updatedAt", now))),
+              new UpdateOptions().upsert(true));
+    } catch (MongoException e) {
+      logger.warn("Could not record {} for event {}", activity, eventId, e);
+    }
+  }
+
+  public List<TrendingEvent> getTrending(int limit) {
+    if (limit < 1 || limit > TOP_K) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + TOP_K);
+    }
+    List<TrendingEvent> current = ranking;
+    return current.size() <= limit ? current : current.subList(0, limit);
+  }
+
+  /**
+   * Rebuilds the ranking from scores touched within the last week, keeping only the best
+   * candidates in a bounded min-heap while the trends stream past.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${app.trending.refresh-interval-ms:60000}", initialDelayString = "${app.trending.refresh-interval-ms:60000}")
+  public void refresh() {
+    long now = System.currentTimeMillis();
+    Query recent = Query.query(Criteria.where("updatedAt").gte(new Date(now - ACTIVITY_WINDOW.toMillis())));
+    int candidates = TOP_K * 2;
+    PriorityQueue<EventTrend> heap = new PriorityQueue<>(candidates + 1,
+            Comparator.comparingDouble((EventTrend trend) -> decayedScore(trend, now)));
+
+    try (Stream<EventTrend> trends = mongoTemplate.stream(recent, EventTrend.class)) {
+      Iterator<EventTrend> iterator = trends.iterator();
+      while (iterator.hasNext()) {
+        heap.offer(iterator.next());
+        if (heap.size() > candidates) {
+          heap.poll();
+        }
+      }
+
+      Map<String, Event> events = eventRepository.findAllById(heap.stream().map(EventTrend::getEventId).toList())
+              .stream()
+              .collect(Collectors.toMap(Event::getId, Function.identity()));
+      LocalDate today = LocalDate.now();
+      List<TrendingEvent> refreshed = new ArrayList<>(heap.size());
+      while (!heap.isEmpty()) {
+        EventTrend trend = heap.poll();
+        Event event = events.get(trend.getEventId());
+        // Past one-off events are not worth promoting even if they were busy this week.
+        if (event != null && (event.getRecurrence() != null || !event.getDate().isBefore(today))) {
+          refreshed.add(new TrendingEvent(event, decayedScore(trend, now)));
+        }
+      }
+      refreshed.sort(Comparator.comparingDouble(TrendingEvent::getScore).reversed());
+      ranking = List.copyOf(refreshed.subList(0, Math.min(TOP_K, refreshed.size())));
+    } catch (DataAccessException e) {
+      logger.warn("Could not refresh trending events", e);
+    }
+  }
+
+  private double decayedScore(EventTrend trend, long now) {
+    return trend.getScore() * Math.exp(-decayPerMilli * (now - trend.getUpdatedAt().getTime()));
+  }
+}
@@ -0,0 +1,178 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.RecurrenceRule;
+import com.ieti.proyectoieti.repositories.EventRepository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialized view of upcoming events (dated after today), bucketed by date so that category and
+ * date-window slices are served from memory. Recurring series are held once and expanded into
+ * occurrences only for the window being read. Writes in {@link EventService} keep it current and a
+ * midnight job drops the day that has just become past. A failed startup load is retried until it
+ * succeeds; reads go to the database meanwhile.
+ */
+@Component
+public class UpcomingEventsCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(UpcomingEventsCache.class);
+  private static final int RECURRENCE_HORIZON_DAYS = 90;
+  private static final Comparator<Event> BY_DATE =
+          Comparator.comparing(Event::getDate).thenComparing(Event::getId);
+
+  private final EventRepository eventRepository;
+  private final EventResponseCache responseCache;
+
+  private final ConcurrentSkipListMap<LocalDate, ConcurrentSkipListMap<String, Event>> eventsByDate =
+          new ConcurrentSkipListMap<>();
+  private final Map<String, LocalDate> datesById = new ConcurrentHashMap<>();
+  private final Map<String, Event> recurringSeries = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+
+  public UpcomingEventsCache(EventRepository eventRepository, EventResponseCache responseCache) {
+    this.eventRepository = eventRepository;
+    this.responseCache = responseCache;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    try {
+      List<Event> upcoming = eventRepository.findByDateAfter(LocalDate.now());
+      upcoming.forEach(this::add);
+      eventRepository.findActiveRecurringSeries(LocalDate.now().plusDays(1)).forEach(this::add);
+      loaded = true;
+      logger.info("Loaded {} upcoming events and {} recurring series into memory",
+              datesById.size(), recurringSeries.size());
+    } catch (DataAccessException e) {
+      logger.warn("Could not load upcoming events, serving them from the database", e);
+    }
+  }
+
+  @Scheduled(
+          initialDelayString = "${app.events.upcoming.load-retry-ms:60000}",
+          fixedDelayString = "${app.events.upcoming.load-retry-ms:60000}")
+  public void retryLoad() {
+    if (!loaded) {
+      load();
+    }
+  }
+
+  @Scheduled(cron = "0 0 0 * * *")
+  public void rollOver() {
+    NavigableMap<LocalDate, ConcurrentSkipListMap<String, Event>> past =
+            eventsByDate.headMap(LocalDate.now(), true);
+    int dropped = 0;
+    for (Map<String, Event> day : past.values()) {
+      day.keySet().forEach(datesById::remove);
+      dropped += day.size();
+    }
+    past.clear();
+    recurringSeries.values().removeIf(series -> !isActive(series, LocalDate.now()));
+    responseCache.invalidateAll();
+    logger.info("Rolled over upcoming events, dropped {} past events", dropped);
+  }
+
+  public void add(Event event) {
+    remove(event.getId());
+    if (event.getRecurrence() != null) {
+      if (isActive(event, LocalDate.now())) {
+        recurringSeries.put(event.getId(), event);
+      }
+      return;
+    }
+    if (event.getDate() == null || !event.getDate().isAfter(LocalDate.now())) {
+      return;
+    }
+    datesById.put(event.getId(), event.getDate());
+    // Inside compute, so a concurrent remove cannot drop the day between its creation and this put.
+    eventsByDate.compute(event.getDate(), (date, day) -> {
+      ConcurrentSkipListMap<String, Event> events = day == null ? new ConcurrentSkipListMap<>() : day;
+      events.put(event.getId(), event);
+      return events;
+    });
+  }
+
+  public void remove(String eventId) {
+    recurringSeries.remove(eventId);
+    LocalDate date = datesById.remove(eventId);
+    if (date == null) {
+      return;
+    }
+    eventsByDate.computeIfPresent(date, (key, day) -> {
+      day.remove(eventId);
+      return day.isEmpty() ? null : day;
+    });
+  }
+
+  /**
+   * Upcoming events ordered by date, optionally limited to a category and an inclusive date window.
+   * Recurring series contribute one entry per occurrence, up to {@code to} or a 90-day horizon when
+   * no end is given, and never more than {@value RecurrenceRule#MAX_EXPANSION_DAYS} days ahead.
+   * Until the startup load has finished the slice is read from the database instead.
+   */
+  public List<Event> getUpcoming(String category, LocalDate from, LocalDate to) {
+    LocalDate tomorrow = LocalDate.now().plusDays(1);
+    LocalDate start = from == null || from.isBefore(tomorrow) ? tomorrow : from;
+    if (to != null && to.isBefore(start)) {
+      return List.of();
+    }
+
+    List<Event> singles;
+    Collection<Event> series;
+    if (loaded) {
+      NavigableMap<LocalDate, ConcurrentSkipListMap<String, Event>> window =
+              to == null ? eventsByDate.tailMap(start, true) : eventsByDate.subMap(start, true, to, true);
+      singles = window.values().stream()
+              .flatMap(day -> day.values().stream())
+              .filter(event -> matchesCategory(event, category))
+              .toList();
+      series = recurringSeries.values();
+    } else {
+      singles = eventRepository.findByDateAfter(LocalDate.now()).stream()
+              .filter(event -> event.getRecurrence() == null && matchesCategory(event, category))
+              .filter(event -> !event.getDate().isBefore(start) && (to == null || !event.getDate().isAfter(to)))
+              .sorted(BY_DATE)
+              .toList();
+      series = eventRepository.findActiveRecurringSeries(start);
+    }
+
+    LocalDate maxSeriesEnd = start.plusDays(RecurrenceRule.MAX_EXPANSION_DAYS);
+    LocalDate seriesEnd = to == null ? start.plusDays(RECURRENCE_HORIZON_DAYS)
+            : to.isAfter(maxSeriesEnd) ? maxSeriesEnd : to;
+    List<Event> occurrences = series.stream()
+            .filter(event -> matchesCategory(event, category))
+            .flatMap(event -> event.getRecurrence()
+                    .occurrencesBetween(event.getDate(), start, seriesEnd)
+                    .map(event::occurrenceOn))
+            .toList();
+    if (occurrences.isEmpty()) {
+      return singles;
+    }
+    return Stream.concat(singles.stream(), occurrences.stream()).sorted(BY_DATE).toList();
+  }
+
+  private static boolean matchesCategory(Event event, String category) {
+    return category == null || Objects.equals(category, event.getCategory());
+  }
+
+  private static boolean isActive(Event series, LocalDate today) {
+    LocalDate until = series.getRecurrence().getUntil();
+    return until == null || until.isAfter(today);
+  }
+}
@@ -0,0 +1,175 @@
+package com.ieti.proyectoieti.services;
+
+import com.ieti.proyectoieti.models.EventReservation;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.SharedWallet;
+import com.ieti.proyectoieti.models.User;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import java.util.List;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Merges users sharing a providerUserId, left behind by concurrent first logins before the field
+ * was unique, and then creates the unique index that keeps it so. The earliest created user of each
+ * set survives: the others' groups, group memberships, wallet participations and transactions,
+ * waitlist entries and reservations are moved to it before they are removed, so an interrupted run
+ * is completed by the next startup.
+ */
+@Service
+public class UserDeduplicator {
+
+    static final String PROVIDER_USER_ID_INDEX = "provider_user_id_unique";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeduplicator.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final RsvpService rsvpService;
+
+    public UserDeduplicator(MongoTemplate mongoTemplate, RsvpService rsvpService) {
+        this.mongoTemplate = mongoTemplate;
+        this.rsvpService = rsvpService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void deduplicateAndIndex() {
+        try {
+            int merged = mergeDuplicates();
+            if (merged > 0) {
+                logger.info("Merged {} duplicate users into the user of the same provider id", merged);
+            }
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index()
+                    .on("providerUserId", Sort.Direction.ASC)
+                    .unique()
+                    .named(PROVIDER_USER_ID_INDEX));
+        } catch (DataAccessException | MongoException e) {
+            logger.warn("Could not deduplicate users or create the unique provider id index", e);
+        }
+    }
+
+    /** Merges every set of users sharing a providerUserId and returns how many users were removed. */
+    int mergeDuplicates() {
+        List<Document> duplicates = mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("providerUserId").ne(null)),
+                        Aggregation.sort(Sort.by("createdAt", "_id")),
+                        Aggregation.group("providerUserId").push("_id").as("ids"),
+                        Aggregation.match(Criteria.where("ids.1").exists(true))),
+                mongoTemplate.getCollectionName(User.class), Document.class)
+                .getMappedResults();
+        int merged = 0;
+        for (Document duplicate : duplicates) {
+            List<String> ids = duplicate.getList("ids", Object.class).stream().map(Object::toString).toList();
+            for (String duplicateId : ids.subList(1, ids.size())) {
+                merge(ids.get(0), duplicateId);
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    private void merge(String survivorId, String duplicateId) {
+        User duplicate = mongoTemplate.findById(duplicateId, User.class);
+        if (duplicate == null) {
+            return;
+        }
+        if (duplicate.getGroupIds() != null && !duplicate.getGroupIds().isEmpty()) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(survivorId)),
+                    new Update().addToSet("groupIds").each(duplicate.getGroupIds().toArray()), User.class);
+        }
+        moveGroupMemberships(survivorId, duplicateId);
+        moveWalletReferences(survivorId, duplicateId);
+
+        for (WaitlistEntry entry : mongoTemplate.find(
+                Query.query(Criteria.where("userId").is(duplicateId)), WaitlistEntry.class)) {
+            Query byId = Query.query(Criteria.where("_id").is(entry.getId()));
+            try {
+                mongoTemplate.updateFirst(byId, Update.update("userId", survivorId), WaitlistEntry.class);
+            } catch (DuplicateKeyException e) {
+                // The survivor already waits for this group.
+                mongoTemplate.remove(byId, WaitlistEntry.class);
+            }
+        }
+        for (EventReservation reservation : mongoTemplate.find(
+                Query.query(Criteria.where("userId").is(duplicateId)), EventReservation.class)) {
+            try {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(reservation.getId())),
+                        Update.update("userId", survivorId), EventReservation.class);
+            } catch (DuplicateKeyException e) {
+                // The survivor already holds a place for this event, so the second one is given back.
+                try {
+                    rsvpService.cancel(reservation.getEventId(), duplicateId);
+                } catch (IllegalArgumentException released) {
+                    // The hold expired and was released in the meantime.
+                }
+            }
+        }
+
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(duplicateId)), User.class);
+    }
+
+    /**
+     * Replaces the duplicate by the survivor in the members and creator of its groups, dropping it
+     * where both were members, and recomputes the membership counters in the same update.
+     */
+    private void moveGroupMemberships(String survivorId, String duplicateId) {
+        Document members = new Document("$ifNull", List.of("$memberIds", List.of()));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Group.class)).updateMany(
+                Filters.or(Filters.eq("memberIds", duplicateId), Filters.eq("creatorId", duplicateId)),
+                List.of(
+                        new Document("$set", new Document("memberIds", replaceMember(members, survivorId, duplicateId))
+                                .append("creatorId", new Document("$cond", List.of(
+                                        new Document("$eq", List.of("$creatorId", duplicateId)),
+                                        survivorId,
+                                        "$creatorId")))),
+                        new Document("$set", new Document("memberCount", new Document("$size", "$memberIds"))),
+                        new Document("$set", new Document("openSlots", new Document("$max", List.of(0,
+                                new Document("$subtract", List.of("$maxMembers", "$memberCount"))))))));
+    }
+
+    /**
+     * Replaces the duplicate by the survivor among the participants of its shared wallets, dropping
+     * it where both took part, and in the user of its transactions, so balances are kept.
+     */
+    private void moveWalletReferences(String survivorId, String duplicateId) {
+        Document participants = new Document("$ifNull", List.of("$participants", List.of()));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(SharedWallet.class)).updateMany(
+                Filters.or(Filters.eq("participants", duplicateId), Filters.eq("transactions.user_id", duplicateId)),
+                List.of(new Document("$set", new Document(
+                        "participants", replaceMember(participants, survivorId, duplicateId))
+                        .append("transactions", new Document("$map", new Document(
+                                "input", new Document("$ifNull", List.of("$transactions", List.of())))
+                                .append("in", new Document("$mergeObjects", List.of("$$this",
+                                        new Document("user_id", new Document("$cond", List.of(
+                                                new Document("$eq", List.of("$$this.user_id", duplicateId)),
+                                                survivorId,
+                                                "$$this.user_id")))))))))));
+    }
+
+    /** Expression for {@code ids} with the duplicate replaced by the survivor, listed at most once. */
+    private static Document replaceMember(Document ids, String survivorId, String duplicateId) {
+        return new Document("$cond", List.of(
+                new Document("$in", List.of(survivorId, ids)),
+                new Document("$filter", new Document("input", ids)
+                        .append("cond", new Document("$ne", List.of("$$this", duplicateId)))),
+                new Document("$map", new Document("input", ids)
+                        .append("in", new Document("$cond", List.of(
+                                new Document("$eq", List.of("$$this", duplicateId)),
+                                survivorId,
+                                "$$this"))))));
+    }
+}
@@ -2,32 +2,52 @@ package com.ieti.proyectoieti.services;
 
 import com.ieti.proyectoieti.models.User;
 import com.ieti.proyectoieti.repositories.UserRepository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, MongoTemplate mongoTemplate) {
         this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public User createOrUpdateUser(String providerUserId, String name, String email, String picture) {
         Optional<User> existingUser = userRepository.findByProviderUserId(providerUserId);
-
-        if (existingUser.isPresent()) {
-            User user = existingUser.get();
-            user.setName(name);
-            user.setEmail(email);
-            user.setPicture(picture);
-            return userRepository.save(user);
-        } else {
-            User newUser = new User(providerUserId, name, email, picture);
-            return userRepository.save(newUser);
+        if (existingUser.isPresent()
+                && Objects.equals(existingUser.get().getName(), name)
+                && Objects.equals(existingUser.get().getEmail(), email)
+                && Objects.equals(existingUser.get().getPicture(), picture)) {
+            return existingUser.get();
         }
+
+        // A single upsert on the unique providerUserId index, so concurrent first logins converge on
+        // one document. Only the provider-owned fields are set on an existing user, so concurrent
+        // group changes are not overwritten.
+        LocalDateTime now = LocalDateTime.now();
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("providerUserId").is(providerUserId)),
+                new Update()
+                        .set("name", name)
+                        .set("email", email)
+                        .set("picture", picture)
+                        .set("updatedAt", now)
+                        .setOnInsert("createdAt", now)
+                        .setOnInsert("groupIds", List.of()),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                User.class);
     }
 
     public Optional<User> getUserById(String id) {
@@ -0,0 +1,103 @@
+package com.ieti.proyectoieti.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ieti.proyectoieti.services.EventResponseCache;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class EventResponseCacheFilterTest {
+
+  private static final String BODY = "[{\"id\":\"event-1\"}]";
+
+  private EventResponseCache responseCache;
+  private EventResponseCacheFilter filter;
+  private AtomicInteger controllerCalls;
+
+  @BeforeEach
+  void setUp() {
+    responseCache = new EventResponseCache();
+    filter = new EventResponseCacheFilter(responseCache);
+    controllerCalls = new AtomicInteger();
+  }
+
+  @Test
+  void doFilter_RepeatedRequest_ServedFromCache() throws Exception {
+    MockHttpServletResponse first = perform(request("/events/upcoming"));
+    MockHttpServletResponse second = perform(request("/events/upcoming"));
+
+    assertEquals(1, controllerCalls.get());
+    assertEquals(BODY, second.getContentAsString());
+    assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  void doFilter_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+    String etag = perform(request("/events")).getHeader(HttpHeaders.ETAG);
+    MockHttpServletRequest conditional = request("/events");
+    conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+    MockHttpServletResponse response = perform(conditional);
+
+    assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+    assertEquals(0, response.getContentLength());
+  }
+
+  @Test
+  void doFilter_AcceptsGzip_ReturnsCompressedBody() throws Exception {
+    MockHttpServletRequest request = request("/events/category/Meeting");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+    MockHttpServletResponse response = perform(request);
+
+    assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertTrue(response.getHeader(HttpHeaders.ETAG).endsWith("-gzip\""));
+  }
+
+  @Test
+  void doFilter_AfterInvalidation_CallsControllerAgain() throws Exception {
+    perform(request("/events"));
+    responseCache.invalidateAll();
+    perform(request("/events"));
+
+    assertEquals(2, controllerCalls.get());
+  }
+
+  @Test
+  void doFilter_OtherRoute_NotCached() throws Exception {
+    perform(request("/events/near"));
+    perform(request("/events/near"));
+
+    assertEquals(2, controllerCalls.get());
+  }
+
+  private MockHttpServletRequest request(String path) {
+    return new MockHttpServletRequest("GET", path);
+  }
+
+  private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+              throws IOException {
+        controllerCalls.incrementAndGet();
+        resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+      }
+    });
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+}
@@ -3,6 +3,8 @@ package com.ieti.proyectoieti.controllers;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ieti.proyectoieti.config.SecurityConfig;
@@ -12,11 +14,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -71,6 +75,35 @@ class AuthControllerTest {
             .andExpect(jsonPath("$.providerUserId").value("12345"));
   }
 
+  @Test
+  void getUserProfile_SameSession_SyncsOnceAndReadsMembershipsFresh() throws Exception {
+    OAuth2User oauth2User = createOAuth2User();
+    MockHttpSession session = new MockHttpSession();
+
+    User mockUser = new User("12345", "Test User", "test@example.com", "http://example.com/pic.jpg");
+    mockUser.setId("user-123");
+    User joined = new User("12345", "Test User", "test@example.com", "http://example.com/pic.jpg");
+    joined.setId("user-123");
+    joined.addGroup("group-1");
+
+    when(userService.createOrUpdateUser("12345", "Test User", "test@example.com", "http://example.com/pic.jpg"))
+            .thenReturn(mockUser);
+    when(userService.getUserById("user-123")).thenReturn(Optional.of(joined));
+
+    mockMvc
+            .perform(get("/api/user/profile").session(session).with(oauth2Login().oauth2User(oauth2User)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.groupIds").isEmpty());
+    mockMvc
+            .perform(get("/api/user/profile").session(session).with(oauth2Login().oauth2User(oauth2User)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value("user-123"))
+            .andExpect(jsonPath("$.groupIds[0]").value("group-1"));
+
+    verify(userService, times(1))
+            .createOrUpdateUser("12345", "Test User", "test@example.com", "http://example.com/pic.jpg");
+  }
+
   @Test
   void getUserProfile_UnauthenticatedUser_ReturnsError() throws Exception {
     mockMvc
@@ -1,15 +1,25 @@
 package com.ieti.proyectoieti.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.ieti.proyectoieti.controllers.dto.EventRequest;
 import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventBatchItem;
+import com.ieti.proyectoieti.models.EventBatchResult;
+import com.ieti.proyectoieti.models.EventDeletionJob;
+import com.ieti.proyectoieti.services.EventClusterService;
+import com.ieti.proyectoieti.services.EventImportService;
 import com.ieti.proyectoieti.services.EventService;
+import com.ieti.proyectoieti.services.RsvpService;
+import com.ieti.proyectoieti.services.TrendingService;
+import jakarta.validation.Validator;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +35,21 @@ class EventControllerTest {
     @Mock
     private EventService eventService;
 
+    @Mock
+    private RsvpService rsvpService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private EventImportService importService;
+
+    @Mock
+    private EventClusterService clusterService;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private EventController eventController;
 
@@ -45,7 +70,7 @@ class EventControllerTest {
 
     @Test
     void createEvent_ValidRequest_ReturnsEvent() {
-        when(eventService.createEvent(any(), any(), any(), any(), any())).thenReturn(testEvent);
+        when(eventService.createEvent(any(Event.class))).thenReturn(testEvent);
 
         ResponseEntity<Event> response = eventController.createEvent(eventRequest);
 
@@ -55,12 +80,43 @@ class EventControllerTest {
         assertEquals(testEvent, response.getBody());
     }
 
+    @Test
+    void createEvent_WithCoordinates_SetsGeoLocation() {
+        eventRequest.setLatitude(4.6097);
+        eventRequest.setLongitude(-74.0817);
+        when(eventService.createEvent(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResponseEntity<Event> response = eventController.createEvent(eventRequest);
+
+        assertNotNull(response.getBody().getGeoLocation());
+        assertEquals(-74.0817, response.getBody().getGeoLocation().getX());
+        assertEquals(4.6097, response.getBody().getGeoLocation().getY());
+    }
+
+    @Test
+    void createEvent_OnlyLatitude_ThrowsException() {
+        eventRequest.setLatitude(4.6097);
+
+        assertThrows(IllegalArgumentException.class, () -> eventController.createEvent(eventRequest));
+        verify(eventService, never()).createEvent(any(Event.class));
+    }
+
+    @Test
+    void updateEvent_ValidRequest_ReturnsUpdatedEvent() {
+        when(eventService.updateEvent(eq(testEvent.getId()), any(Event.class))).thenReturn(testEvent);
+
+        ResponseEntity<Event> response = eventController.updateEvent(testEvent.getId(), eventRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(testEvent, response.getBody());
+    }
+
     @Test
     void getEvents_ReturnsAllEvents() {
         List<Event> events = Arrays.asList(testEvent);
-        when(eventService.getEvents()).thenReturn(events);
+        when(eventService.getEvents(false)).thenReturn(events);
 
-        ResponseEntity<List<Event>> response = eventController.getEvents();
+        ResponseEntity<List<Event>> response = eventController.getEvents(false);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -71,9 +127,9 @@ class EventControllerTest {
     @Test
     void getEventsByCategory_ValidCategory_ReturnsEvents() {
         List<Event> events = Arrays.asList(testEvent);
-        when(eventService.getEventsByCategory("Meeting")).thenReturn(events);
+        when(eventService.getEventsByCategory("Meeting", true)).thenReturn(events);
 
-        ResponseEntity<List<Event>> response = eventController.getEventsByCategory("Meeting");
+        ResponseEntity<List<Event>> response = eventController.getEventsByCategory("Meeting", true);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -83,9 +139,9 @@ class EventControllerTest {
     @Test
     void getUpcomingEvents_ReturnsUpcomingEvents() {
         List<Event> events = Arrays.asList(testEvent);
-        when(eventService.getUpcomingEvents()).thenReturn(events);
+        when(eventService.getUpcomingEvents("Meeting", null, null)).thenReturn(events);
 
-        ResponseEntity<List<Event>> response = eventController.getUpcomingEvents();
+        ResponseEntity<List<Event>> response = eventController.getUpcomingEvents("Meeting", null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -93,14 +149,42 @@ class EventControllerTest {
     }
 
     @Test
-    void deleteEvent_ValidEventId_ReturnsOk() {
+    void createEvents_ReportsInvalidRequestsInRequestOrder() {
+        EventRequest invalidRequest = new EventRequest();
+        invalidRequest.setTitle("Only latitude");
+        invalidRequest.setDate(LocalDate.now().plusDays(1));
+        invalidRequest.setLocation("Somewhere");
+        invalidRequest.setLatitude(4.6);
+        when(validator.validate(any(EventRequest.class))).thenReturn(Set.of());
+        when(eventService.createEvents(anyList())).thenAnswer(invocation -> {
+            List<Event> events = invocation.getArgument(0);
+            assertEquals(1, events.size());
+            return List.of(new EventBatchItem(0, events.get(0).getId(), null));
+        });
+
+        ResponseEntity<EventBatchResult> response =
+                eventController.createEvents(Arrays.asList(invalidRequest, eventRequest));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getCreated());
+        assertEquals(1, response.getBody().getFailed());
+        assertEquals("Latitude and longitude must be provided together",
+                response.getBody().getItems().get(0).getError());
+        assertEquals(1, response.getBody().getItems().get(1).getIndex());
+        assertNotNull(response.getBody().getItems().get(1).getEventId());
+    }
+
+    @Test
+    void deleteEvent_ValidEventId_ReturnsAcceptedWithCleanupJob() {
         String eventId = "event-123";
-        doNothing().when(eventService).deleteEvent(eventId);
+        EventDeletionJob job = new EventDeletionJob("job-1", eventId);
+        when(eventService.deleteEvent(eventId)).thenReturn(job);
 
-        ResponseEntity<Void> response = eventController.deleteEvent(eventId);
+        ResponseEntity<EventDeletionJob> response = eventController.deleteEvent(eventId);
 
         assertNotNull(response);
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertSame(job, response.getBody());
         verify(eventService).deleteEvent(eventId);
     }
 }
\ No newline at end of file
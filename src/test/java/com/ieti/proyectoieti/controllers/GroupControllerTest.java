@@ -9,8 +9,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.ieti.proyectoieti.config.SecurityConfig;
 import com.ieti.proyectoieti.controllers.dto.GroupRequest;
 import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupView;
+import com.ieti.proyectoieti.models.MemberSummary;
+import com.ieti.proyectoieti.services.CalendarService;
+import com.ieti.proyectoieti.services.CalendarService.CalendarFeed;
 import com.ieti.proyectoieti.services.GroupService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,6 +39,9 @@ class GroupControllerTest {
     @MockBean
     private GroupService groupService;
 
+    @MockBean
+    private CalendarService calendarService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -89,6 +98,21 @@ class GroupControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser
+    void getGroupCalendar_MatchingEtag_ReturnsNotModified() throws Exception {
+        when(calendarService.getGroupCalendar(GROUP_ID)).thenReturn(
+                new CalendarFeed("EventIA - Test", List.of("event-123"), "\"v1\"", Instant.parse("2025-01-01T00:00:00Z")));
+
+        mockMvc.perform(get("/api/groups/{groupId}/calendar.ics", GROUP_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                        .with(csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        verify(calendarService, never()).writeCalendar(any(), any());
+    }
+
     @Test
     @WithMockUser
     void getGroupByInviteCode_ValidCode_ReturnsGroup() throws Exception {
@@ -178,7 +202,7 @@ class GroupControllerTest {
     void getGroupsByEvent_ValidEvent_ReturnsGroups() throws Exception {
         String eventId = "event-456";
         List<Group> groups = List.of(testGroup);
-        when(groupService.getGroupsByEvent(eventId)).thenReturn(groups);
+        when(groupService.getGroupsByEvent(eventId, false)).thenReturn(groups);
 
         mockMvc.perform(get("/api/groups/event/{eventId}", eventId)
                         .with(csrf()))
@@ -220,7 +244,7 @@ class GroupControllerTest {
         request.setCreatorId(CREATOR_ID); // Agregar creatorId válido
         request.setMaxMembers(20);
 
-        when(groupService.updateGroup(eq(GROUP_ID), any(), any(), any())).thenReturn(testGroup);
+        when(groupService.updateGroup(eq(GROUP_ID), any(), any(), any(), any())).thenReturn(testGroup);
 
         mockMvc.perform(put("/api/groups/{groupId}", GROUP_ID)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -229,4 +253,57 @@ class GroupControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(GROUP_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void getGroupById_WithExpand_ReturnsExpandedView() throws Exception {
+        MemberSummary member = new MemberSummary();
+        member.setId(CREATOR_ID);
+        member.setName("Creator");
+        GroupView view = new GroupView();
+        view.setId(GROUP_ID);
+        view.setMembers(List.of(member));
+        when(groupService.getGroupView(GROUP_ID, true, true)).thenReturn(Optional.of(view));
+
+        mockMvc.perform(get("/api/groups/{groupId}", GROUP_ID)
+                        .param("expand", "members,event")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(GROUP_ID))
+                .andExpect(jsonPath("$.members[0].name").value("Creator"));
+    }
+
+    @Test
+    @WithMockUser
+    void getGroupById_UnsupportedExpand_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/groups/{groupId}", GROUP_ID)
+                        .param("expand", "wallet")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getOpenGroupsByEvent_ReturnsGroups() throws Exception {
+        String eventId = "event-456";
+        when(groupService.getOpenGroupsByEvent(eventId, 5)).thenReturn(List.of(testGroup));
+
+        mockMvc.perform(get("/api/groups/event/{eventId}/open", eventId)
+                        .param("limit", "5")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(GROUP_ID))
+                .andExpect(jsonPath("$[0].openSlots").value(49));
+    }
+
+    @Test
+    @WithMockUser
+    void getWaitlistPosition_ReturnsPosition() throws Exception {
+        when(groupService.getWaitlistPosition(GROUP_ID, "user-456")).thenReturn(2L);
+
+        mockMvc.perform(get("/api/groups/{groupId}/waitlist/{userId}", GROUP_ID, "user-456")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(2));
+    }
+}
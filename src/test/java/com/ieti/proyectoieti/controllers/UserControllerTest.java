@@ -7,8 +7,16 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.ieti.proyectoieti.config.SecurityConfig;
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventSummary;
+import com.ieti.proyectoieti.models.RecommendedEvent;
 import com.ieti.proyectoieti.models.User;
+import com.ieti.proyectoieti.services.CalendarService;
+import com.ieti.proyectoieti.services.CalendarService.CalendarFeed;
+import com.ieti.proyectoieti.services.RecommendationService;
 import com.ieti.proyectoieti.services.UserService;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,9 +25,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = UserController.class)
 @Import(SecurityConfig.class)
@@ -31,6 +41,12 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private CalendarService calendarService;
+
+    @MockBean
+    private RecommendationService recommendationService;
+
     private User testUser;
     private final String USER_ID = "user-123";
     private final String PROVIDER_USER_ID = "google-12345";
@@ -66,6 +82,25 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser
+    void getUserCalendar_ChangedFeed_StreamsCalendar() throws Exception {
+        CalendarFeed feed = new CalendarFeed(
+                "EventIA - My events", List.of(), "\"v2\"", Instant.parse("2025-01-01T00:00:00Z"));
+        when(calendarService.getUserCalendar(USER_ID)).thenReturn(feed);
+
+        MvcResult result = mockMvc.perform(get("/api/users/{userId}/calendar.ics", USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                        .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v2\""));
+        verify(calendarService).writeCalendar(eq(feed), any());
+    }
+
     @Test
     @WithMockUser
     void getUserById_ValidId_ReturnsUser() throws Exception {
@@ -146,4 +181,18 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(USER_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void getRecommendedEvents_ReturnsStoredRecommendations() throws Exception {
+        Event event = new Event("Board Games", null, LocalDate.now().plusDays(3), "Cafe", "Social");
+        when(recommendationService.getRecommendations(USER_ID))
+                .thenReturn(List.of(new RecommendedEvent(new EventSummary(event), 4)));
+
+        mockMvc.perform(get("/api/users/{userId}/recommended-events", USER_ID)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].event.title").value("Board Games"))
+                .andExpect(jsonPath("$[0].score").value(4));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ieti.proyectoieti.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecurrenceRuleTest {
+
+  private static final LocalDate START = LocalDate.of(2025, 1, 31);
+
+  @Test
+  void occurrencesBetween_Daily_StepsByInterval() {
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 3, null);
+
+    List<LocalDate> dates = rule.occurrencesBetween(START, START.plusDays(1), START.plusDays(9)).toList();
+
+    assertEquals(List.of(START.plusDays(3), START.plusDays(6), START.plusDays(9)), dates);
+  }
+
+  @Test
+  void occurrencesBetween_MonthlyOnThe31st_SkipsShortMonths() {
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, 1, null);
+
+    List<LocalDate> dates = rule.occurrencesBetween(START, START, LocalDate.of(2025, 5, 31)).toList();
+
+    assertEquals(List.of(START, LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31)), dates);
+  }
+
+  @Test
+  void occurrencesBetween_ExceptionsAndUntil_AreExcluded() {
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, START.plusWeeks(3));
+    rule.setExceptions(List.of(START.plusWeeks(1)));
+
+    List<LocalDate> dates = rule.occurrencesBetween(START, START, START.plusYears(1)).toList();
+
+    assertEquals(List.of(START, START.plusWeeks(2), START.plusWeeks(3)), dates);
+  }
+
+  @Test
+  void occurrencesBetween_DistantWindow_StartsAtWindow() {
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, null);
+    LocalDate from = START.plusYears(500);
+
+    List<LocalDate> dates = rule.occurrencesBetween(START, from, from.plusWeeks(4)).toList();
+
+    assertEquals(2, dates.size());
+    assertFalse(dates.get(0).isBefore(from));
+    assertEquals(0, ChronoUnit.DAYS.between(START, dates.get(0)) % 14);
+  }
+
+  @Test
+  void occurrencesBetween_WindowBeforeStart_IsEmpty() {
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null);
+
+    assertEquals(0, rule.occurrencesBetween(START, START.minusDays(10), START.minusDays(1)).count());
+  }
+}
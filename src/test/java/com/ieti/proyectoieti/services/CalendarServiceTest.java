@@ -0,0 +1,94 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.RecurrenceRule;
+import com.ieti.proyectoieti.services.CalendarService.CalendarFeed;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarServiceTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @InjectMocks
+  private CalendarService calendarService;
+
+  @Test
+  void getGroupCalendar_EventChanged_ChangesValidators() {
+    Group group = new Group("Hikers", "desc", "user-1", "event-1");
+    group.setId("group-1");
+    Event event = new Event("Hike", null, LocalDate.of(2025, 3, 1), "Monserrate", "Social");
+    event.setId("event-1");
+    event.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+    when(mongoTemplate.findOne(any(Query.class), eq(Group.class))).thenReturn(group);
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event));
+
+    CalendarFeed before = calendarService.getGroupCalendar("group-1");
+    event.setUpdatedAt(LocalDateTime.now().plusDays(1));
+    CalendarFeed after = calendarService.getGroupCalendar("group-1");
+
+    assertEquals(List.of("event-1"), before.getEventIds());
+    assertNotEquals(before.getEtag(), after.getEtag());
+    assertTrue(after.getLastModified().isAfter(before.getLastModified()));
+  }
+
+  @Test
+  void getGroupCalendar_UnknownGroup_ThrowsException() {
+    when(mongoTemplate.findOne(any(Query.class), eq(Group.class))).thenReturn(null);
+
+    assertThrows(IllegalArgumentException.class, () -> calendarService.getGroupCalendar("missing"));
+  }
+
+  @Test
+  void writeCalendar_RecurringEvent_WritesEscapedVevent() throws Exception {
+    Event event = new Event("Standup; daily", "Line one\nLine two", LocalDate.of(2025, 3, 3), "Room A, 2nd floor", "Meeting");
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, LocalDate.of(2025, 6, 30));
+    rule.setExceptions(List.of(LocalDate.of(2025, 3, 17)));
+    event.setRecurrence(rule);
+    when(mongoTemplate.stream(any(Query.class), eq(Event.class))).thenReturn(Stream.of(event));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    calendarService.writeCalendar(new CalendarFeed("Team", List.of(event.getId()), "\"x\"", null), output);
+    String ics = output.toString(StandardCharsets.UTF_8);
+
+    assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+    assertTrue(ics.contains("SUMMARY:Standup\\; daily\r\n"));
+    assertTrue(ics.contains("DESCRIPTION:Line one\\nLine two\r\n"));
+    assertTrue(ics.contains("LOCATION:Room A\\, 2nd floor\r\n"));
+    assertTrue(ics.contains("DTSTART;VALUE=DATE:20250303\r\n"));
+    assertTrue(ics.contains("RRULE:FREQ=WEEKLY;INTERVAL=2;UNTIL=20250630\r\n"));
+    assertTrue(ics.contains("EXDATE;VALUE=DATE:20250317\r\n"));
+    assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+  }
+
+  @Test
+  void writeLine_LongLine_FoldsAt75Octets() throws Exception {
+    StringWriter writer = new StringWriter();
+
+    CalendarService.writeLine(writer, "DESCRIPTION:" + "é".repeat(60));
+
+    for (String line : writer.toString().split("\r\n")) {
+      assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75);
+    }
+    assertEquals("DESCRIPTION:" + "é".repeat(60), writer.toString().replace("\r\n ", "").trim());
+  }
+}
@@ -0,0 +1,160 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+class EventArchiverTest {
+
+  private static final LocalDate CUTOFF = LocalDate.of(2024, 1, 1);
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private BulkOperations bulkOperations;
+
+  @Mock
+  private RsvpService rsvpService;
+
+  @Mock
+  private EventSuggestionIndex suggestionIndex;
+
+  @Mock
+  private EventDuplicateIndex duplicateIndex;
+
+  @Mock
+  private UpcomingEventsCache upcomingEvents;
+
+  @Mock
+  private EventResponseCache responseCache;
+
+  @Mock
+  private EventFacetCache facetCache;
+
+  private EventArchiver archiver;
+
+  @BeforeEach
+  void setUp() {
+    archiver = new EventArchiver(mongoTemplate, rsvpService, suggestionIndex, duplicateIndex,
+            upcomingEvents, responseCache, facetCache, 365, 2, 0);
+  }
+
+  @Test
+  void archiveBefore_MovesEventsAndGroupsBatchByBatch() throws InterruptedException {
+    Event first = pastEvent("Old Meetup");
+    Event second = pastEvent("Old Workshop");
+    Event third = pastEvent("Old Party");
+    when(mongoTemplate.find(any(Query.class), eq(Event.class)))
+            .thenReturn(List.of(first, second), List.of(third), List.of());
+    when(mongoTemplate.find(any(Query.class), eq(Group.class)))
+            .thenReturn(List.of(group("g1")), List.of());
+    when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class), any(String.class)))
+            .thenReturn(bulkOperations);
+    when(mongoTemplate.remove(any(Query.class), eq(Group.class))).thenReturn(DeleteResult.acknowledged(1));
+    when(mongoTemplate.remove(any(Query.class), eq(WaitlistEntry.class))).thenReturn(DeleteResult.acknowledged(0));
+    when(mongoTemplate.remove(any(Query.class), eq(GroupInvite.class))).thenReturn(DeleteResult.acknowledged(0));
+    when(mongoTemplate.remove(any(Query.class), eq(Event.class)))
+            .thenReturn(DeleteResult.acknowledged(2), DeleteResult.acknowledged(1));
+
+    int archived = archiver.archiveBefore(CUTOFF);
+
+    assertEquals(3, archived);
+    verify(mongoTemplate, times(2)).bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class, EventArchiver.EVENTS_ARCHIVE);
+    verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Group.class, EventArchiver.GROUPS_ARCHIVE);
+    verify(bulkOperations).insert(List.of(first, second));
+    verify(mongoTemplate).remove(any(Query.class), eq(WaitlistEntry.class));
+    verify(mongoTemplate).remove(any(Query.class), eq(GroupInvite.class));
+    verify(rsvpService).deleteForEvent(third.getId());
+    verify(suggestionIndex).remove(first.getId());
+    verify(duplicateIndex).remove(second.getId());
+    verify(upcomingEvents).remove(third.getId());
+    verify(responseCache).invalidateAll();
+    verify(facetCache).invalidateAll();
+  }
+
+  @Test
+  void archiveBefore_CopyLeftByEarlierRun_StillRemovesEvent() throws InterruptedException {
+    Event event = pastEvent("Old Meetup");
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event), List.of());
+    when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of());
+    when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class), any(String.class)))
+            .thenReturn(bulkOperations);
+    when(bulkOperations.execute()).thenThrow(bulkFailure(11000));
+    when(mongoTemplate.remove(any(Query.class), eq(Event.class))).thenReturn(DeleteResult.acknowledged(1));
+
+    assertEquals(1, archiver.archiveBefore(CUTOFF));
+    verify(suggestionIndex).remove(event.getId());
+  }
+
+  @Test
+  void archiveBefore_CopyFails_KeepsEventsInPlace() {
+    Event event = pastEvent("Old Meetup");
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event));
+    when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class), any(String.class)))
+            .thenReturn(bulkOperations);
+    when(bulkOperations.execute()).thenThrow(bulkFailure(121));
+
+    assertThrows(BulkOperationException.class, () -> archiver.archiveBefore(CUTOFF));
+    verify(mongoTemplate, never()).remove(any(Query.class), eq(Event.class));
+    verify(responseCache, never()).invalidateAll();
+  }
+
+  @Test
+  void archiveBefore_GroupsNotRemoved_KeepsEventsInPlace() throws InterruptedException {
+    Event event = pastEvent("Old Meetup");
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event));
+    when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of(group("g1")));
+    when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class), any(String.class)))
+            .thenReturn(bulkOperations);
+    when(mongoTemplate.remove(any(Query.class), eq(WaitlistEntry.class))).thenReturn(DeleteResult.acknowledged(0));
+    when(mongoTemplate.remove(any(Query.class), eq(GroupInvite.class))).thenReturn(DeleteResult.acknowledged(0));
+    when(mongoTemplate.remove(any(Query.class), eq(Group.class))).thenReturn(DeleteResult.acknowledged(0));
+
+    assertEquals(0, archiver.archiveBefore(CUTOFF));
+    verify(mongoTemplate, never()).remove(any(Query.class), eq(Event.class));
+    verify(suggestionIndex, never()).remove(any());
+  }
+
+  private static BulkOperationException bulkFailure(int code) {
+    BulkWriteError error = new BulkWriteError(code, "write failed", new BsonDocument(), 0);
+    return new BulkOperationException("write failed", new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+            List.of(error), null, new ServerAddress(), Set.of()));
+  }
+
+  private static Event pastEvent(String title) {
+    return new Event(title, null, CUTOFF.minusMonths(1), "Hall", "Social");
+  }
+
+  private static Group group(String id) {
+    Group group = new Group();
+    group.setId(id);
+    return group;
+  }
+}
@@ -0,0 +1,115 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventCluster;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+@ExtendWith(MockitoExtension.class)
+class EventClusterServiceTest {
+
+  private static final String LONDON = "-0.2,51.45,-0.05,51.55";
+  private static final int ZOOM = 9;
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private EventResponseCache responseCache;
+
+  private EventClusterService clusterService;
+
+  @BeforeEach
+  void setUp() {
+    clusterService = new EventClusterService(mongoTemplate, responseCache, 60);
+  }
+
+  @Test
+  void getClusters_ReturnsGeohashCellsWithCentroidAndCount() {
+    // Cell (4093, 3220) of the precision-5 grid covers central London.
+    stubCells(cell(4093, 3220, 3, 51.507, -0.128));
+
+    List<EventCluster> clusters = clusterService.getClusters(LONDON, ZOOM);
+
+    assertEquals(1, clusters.size());
+    assertEquals("gcpvj", clusters.get(0).getGeohash());
+    assertEquals(3, clusters.get(0).getCount());
+    assertEquals(51.507, clusters.get(0).getLatitude());
+    assertEquals(-0.128, clusters.get(0).getLongitude());
+  }
+
+  @Test
+  void getClusters_CachedTiles_AreNotAggregatedAgain() {
+    stubCells(cell(4093, 3220, 3, 51.507, -0.128));
+
+    clusterService.getClusters(LONDON, ZOOM);
+    List<EventCluster> clusters = clusterService.getClusters(LONDON, ZOOM);
+
+    assertEquals(1, clusters.size());
+    verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class));
+  }
+
+  @Test
+  void getClusters_AfterEventWrite_AggregatesAgain() {
+    stubCells(cell(4093, 3220, 3, 51.507, -0.128));
+    when(responseCache.generation()).thenReturn(0L, 1L);
+
+    clusterService.getClusters(LONDON, ZOOM);
+    clusterService.getClusters(LONDON, ZOOM);
+
+    verify(mongoTemplate, times(2)).aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class));
+  }
+
+  @Test
+  void getClusters_CellOutsideRequestedTiles_IsDropped() {
+    stubCells(cell(4093, 3220, 3, 51.507, -0.128), cell(4200, 3220, 1, 51.5, 4.6));
+
+    List<EventCluster> clusters = clusterService.getClusters(LONDON, ZOOM);
+
+    assertEquals(List.of("gcpvj"), clusters.stream().map(EventCluster::getGeohash).toList());
+  }
+
+  @Test
+  void getClusters_CrossingAntimeridian_QueriesBothSides() {
+    stubCells();
+
+    assertTrue(clusterService.getClusters("179.9,-1,-179.9,1", ZOOM).isEmpty());
+    verify(mongoTemplate).aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class));
+  }
+
+  @Test
+  void getClusters_InvalidInput_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> clusterService.getClusters("1,2,3", ZOOM));
+    assertThrows(IllegalArgumentException.class, () -> clusterService.getClusters("a,b,c,d", ZOOM));
+    assertThrows(IllegalArgumentException.class, () -> clusterService.getClusters("0,10,1,5", ZOOM));
+    assertThrows(IllegalArgumentException.class, () -> clusterService.getClusters("0,-95,1,5", ZOOM));
+    assertThrows(IllegalArgumentException.class, () -> clusterService.getClusters(LONDON, 23));
+    assertThrows(IllegalArgumentException.class, () -> clusterService.getClusters("-180,-90,180,90", 22));
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  private void stubCells(Document... cells) {
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(cells), new Document()));
+  }
+
+  private static Document cell(int x, int y, long count, double latitude, double longitude) {
+    return new Document("_id", new Document("x", (double) x).append("y", (double) y))
+            .append("count", count)
+            .append("latitude", latitude)
+            .append("longitude", longitude);
+  }
+}
@@ -0,0 +1,143 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventDeletionJob;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.User;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeletionServiceTest {
+
+  private static final String EVENT_ID = "event-123";
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  private EventDeletionService deletionService;
+
+  @BeforeEach
+  void setUp() {
+    deletionService = new EventDeletionService(mongoTemplate, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    deletionService.shutdown();
+  }
+
+  @Test
+  void run_RemovesGroupsAndMembershipsBatchByBatch() {
+    when(mongoTemplate.find(any(Query.class), eq(Group.class)))
+            .thenReturn(List.of(group("g1"), group("g2")), List.of(group("g3")), List.of());
+    when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class)))
+            .thenReturn(UpdateResult.acknowledged(5, 5L, null), UpdateResult.acknowledged(1, 1L, null));
+    when(mongoTemplate.remove(any(Query.class), eq(Group.class)))
+            .thenReturn(DeleteResult.acknowledged(2), DeleteResult.acknowledged(1));
+    when(mongoTemplate.remove(any(Query.class), eq(WaitlistEntry.class))).thenReturn(DeleteResult.acknowledged(0));
+    when(mongoTemplate.remove(any(Query.class), eq(GroupInvite.class))).thenReturn(DeleteResult.acknowledged(0));
+    EventDeletionJob job = new EventDeletionJob("job-1", EVENT_ID);
+
+    deletionService.run(job);
+
+    assertEquals(EventDeletionJob.Status.COMPLETED, job.getStatus());
+    assertEquals(3, job.getGroupsDeleted());
+    assertEquals(6, job.getUsersUpdated());
+    ArgumentCaptor<Update> pulls = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(2)).updateMulti(any(Query.class), pulls.capture(), eq(User.class));
+    assertTrue(pulls.getAllValues().get(0).getUpdateObject().toJson().contains("$pullAll"));
+    verify(mongoTemplate, times(2)).remove(any(Query.class), eq(WaitlistEntry.class));
+    verify(mongoTemplate, times(2)).remove(any(Query.class), eq(GroupInvite.class));
+  }
+
+  @Test
+  void run_DatabaseFailure_MarksJobFailed() {
+    when(mongoTemplate.find(any(Query.class), eq(Group.class)))
+            .thenThrow(new DataAccessResourceFailureException("down"));
+    EventDeletionJob job = new EventDeletionJob("job-1", EVENT_ID);
+
+    deletionService.run(job);
+
+    assertEquals(EventDeletionJob.Status.FAILED, job.getStatus());
+    assertNotNull(job.getFinishedAt());
+  }
+
+  @Test
+  void run_Completed_RemovesDeletionMarker() {
+    when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of());
+
+    deletionService.run(new EventDeletionJob("job-1", EVENT_ID));
+
+    verify(mongoTemplate).remove(argThat((Query query) -> EVENT_ID.equals(query.getQueryObject().get("_id"))),
+            eq(EventDeletionService.DELETIONS));
+  }
+
+  @Test
+  void resumeInterruptedCleanups_RecordedDeletionOfMissingEvent_StartsCleanup() {
+    Event remaining = new Event();
+    remaining.setId("event-live");
+    when(mongoTemplate.findAll(Document.class, EventDeletionService.DELETIONS)).thenReturn(List.of(
+            new Document("_id", EVENT_ID).append("deletedAt", new Date()),
+            new Document("_id", "event-live").append("deletedAt", new Date())));
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(remaining));
+    lenient().when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of());
+
+    deletionService.resumeInterruptedCleanups();
+
+    verify(mongoTemplate, timeout(1000)).find(
+            argThat((Query query) -> EVENT_ID.equals(query.getQueryObject().get("eventId"))), eq(Group.class));
+    verify(mongoTemplate, never()).find(
+            argThat((Query query) -> "event-live".equals(query.getQueryObject().get("eventId"))), eq(Group.class));
+    verify(mongoTemplate, never()).findDistinct(any(Query.class), anyString(), eq(Group.class), eq(String.class));
+  }
+
+  @Test
+  void resumeInterruptedCleanups_OldMarkerOfExistingEvent_IsDroppedWithoutCleanup() {
+    Event remaining = new Event();
+    remaining.setId("event-live");
+    Date twoHoursAgo = Date.from(Instant.now().minus(Duration.ofHours(2)));
+    when(mongoTemplate.findAll(Document.class, EventDeletionService.DELETIONS)).thenReturn(
+            List.of(new Document("_id", "event-live").append("deletedAt", twoHoursAgo)));
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(remaining));
+
+    deletionService.resumeInterruptedCleanups();
+
+    verify(mongoTemplate).remove(any(Query.class), eq(EventDeletionService.DELETIONS));
+    verify(mongoTemplate, never()).find(any(Query.class), eq(Group.class));
+  }
+
+  @Test
+  void getJob_UnknownId_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> deletionService.getJob("missing"));
+  }
+
+  private static Group group(String id) {
+    Group group = new Group();
+    group.setId(id);
+    return group;
+  }
+}
@@ -0,0 +1,58 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ieti.proyectoieti.models.Event;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EventDuplicateIndexTest {
+
+  private static final LocalDate DATE = LocalDate.now().plusDays(10);
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  private EventDuplicateIndex index;
+  private Event meetup;
+
+  @BeforeEach
+  void setUp() {
+    index = new EventDuplicateIndex(mongoTemplate, 0.7);
+    meetup = new Event("Tech Meetup Bogotá", null, DATE, "Calle 26 #13-19, Bogotá", "Tech");
+    index.add(meetup);
+    index.add(new Event("Design Meetup Medellín", null, DATE, "Carrera 43A #1-50", "Design"));
+  }
+
+  @Test
+  void findDuplicate_SlightlyDifferentTitleAndLocation_ReturnsExistingEvent() {
+    Event retyped = new Event("tech meetup BOGOTA!", null, DATE, "Calle 26 # 13-19 Bogota", "Tech");
+
+    assertEquals(Optional.of(meetup.getId()), index.findDuplicate(retyped));
+  }
+
+  @Test
+  void findDuplicate_DifferentEventOrDate_ReturnsEmpty() {
+    Event other = new Event("Rock Concert", null, DATE, "Movistar Arena", "Music");
+    Event nextDay = new Event("Tech Meetup Bogotá", null, DATE.plusDays(1), "Calle 26 #13-19, Bogotá", "Tech");
+
+    assertTrue(index.findDuplicate(other).isEmpty());
+    assertTrue(index.findDuplicate(nextDay).isEmpty());
+  }
+
+  @Test
+  void remove_RemovedEvent_IsNoLongerReported() {
+    index.remove(meetup.getId());
+
+    assertTrue(index.findDuplicate(new Event("Tech Meetup Bogotá", null, DATE, "Calle 26 #13-19, Bogotá", null))
+            .isEmpty());
+    assertEquals(1, index.size());
+  }
+}
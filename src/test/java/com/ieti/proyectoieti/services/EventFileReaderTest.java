@@ -0,0 +1,117 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.RecurrenceRule;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EventFileReaderTest {
+
+  @Test
+  void csv_QuotedFieldsAndInvalidRows_AreReadRecordByRecord() throws IOException {
+    String csv = "Title,Date,Location,Description,Capacity\r\n"
+            + "Kickoff,2030-01-10,\"Room 1, Floor 2\",\"Says \"\"hi\"\"\nand more\",40\r\n"
+            + "\n"
+            + "Broken,10/01/2030,Room 2,,\n"
+            + "Retro,2030-01-20,Room 3,,\n";
+
+    List<EventFileReader.Record> records = readAll(EventFileReader.Format.CSV, csv);
+
+    assertEquals(3, records.size());
+    Event kickoff = records.get(0).getEvent();
+    assertEquals("Room 1, Floor 2", kickoff.getLocation());
+    assertEquals("Says \"hi\"\nand more", kickoff.getDescription());
+    assertEquals(40, kickoff.getCapacity());
+    assertEquals(2, records.get(0).getLine());
+    assertEquals(5, records.get(1).getLine());
+    assertNull(records.get(1).getEvent());
+    assertEquals("Invalid date, expected yyyy-MM-dd", records.get(1).getError());
+    assertEquals(LocalDate.of(2030, 1, 20), records.get(2).getEvent().getDate());
+  }
+
+  @Test
+  void csv_MissingRequiredColumn_Fails() {
+    assertThrows(IOException.class, () -> readAll(EventFileReader.Format.CSV, "title,date\nA,2030-01-01\n"));
+  }
+
+  @Test
+  void ics_FoldedLinesAndRecurrence_AreMapped() throws IOException {
+    String ics = "BEGIN:VCALENDAR\r\n"
+            + "VERSION:2.0\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "UID:1@eventia\r\n"
+            + "DTSTART;VALUE=DATE:20300105\r\n"
+            + "SUMMARY:Weekly\\, sync\r\n"
+            + "LOCATION:Conference room with a very long name that the exporter had to fold ac\r\n"
+            + " ross two lines\r\n"
+            + "CATEGORIES:Meeting\r\n"
+            + "GEO:4.6097;-74.0817\r\n"
+            + "RRULE:FREQ=WEEKLY;INTERVAL=2;UNTIL=20300630\r\n"
+            + "EXDATE;VALUE=DATE:20300119\r\n"
+            + "BEGIN:VALARM\r\n"
+            + "SUMMARY:Ignored\r\n"
+            + "END:VALARM\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "SUMMARY:No start\r\n"
+            + "END:VEVENT\r\n"
+            + "END:VCALENDAR\r\n";
+
+    List<EventFileReader.Record> records = readAll(EventFileReader.Format.ICS, ics);
+
+    assertEquals(2, records.size());
+    Event event = records.get(0).getEvent();
+    assertEquals("Weekly, sync", event.getTitle());
+    assertEquals("Conference room with a very long name that the exporter had to fold across two lines",
+            event.getLocation());
+    assertEquals(LocalDate.of(2030, 1, 5), event.getDate());
+    assertEquals(-74.0817, event.getGeoLocation().getX());
+    assertEquals(RecurrenceRule.Frequency.WEEKLY, event.getRecurrence().getFrequency());
+    assertEquals(2, event.getRecurrence().getInterval());
+    assertEquals(List.of(LocalDate.of(2030, 1, 19)), event.getRecurrence().getExceptions());
+    assertEquals(3, records.get(0).getLine());
+    assertEquals("Missing DTSTART", records.get(1).getError());
+    assertEquals(17, records.get(1).getLine());
+  }
+
+  @Test
+  void csv_RecordWithTooManyFields_Fails() {
+    String csv = "title,date,location\nA,2030-01-01,Room" + ",".repeat(EventFileReader.MAX_RECORD_FIELDS) + "\n";
+
+    assertThrows(IOException.class, () -> readAll(EventFileReader.Format.CSV, csv));
+  }
+
+  @Test
+  void csv_RecordOverCharacterLimit_Fails() {
+    String field = "x".repeat(EventFileReader.MAX_RECORD_CHARS / 4);
+    String csv = "title,date,location,description\n" + String.join(",", field, field, field, field, field) + "\n";
+
+    assertThrows(IOException.class, () -> readAll(EventFileReader.Format.CSV, csv));
+  }
+
+  @Test
+  void ics_OverlongPhysicalLine_FailsBeforeBufferingIt() {
+    String ics = "BEGIN:VCALENDAR\r\n" + "X".repeat(EventFileReader.MAX_RECORD_CHARS + 1);
+
+    assertThrows(IOException.class, () -> readAll(EventFileReader.Format.ICS, ics));
+  }
+
+  private static List<EventFileReader.Record> readAll(EventFileReader.Format format, String content)
+          throws IOException {
+    List<EventFileReader.Record> records = new ArrayList<>();
+    try (EventFileReader reader = EventFileReader.open(format, new BufferedReader(new StringReader(content)))) {
+      EventFileReader.Record record;
+      while ((record = reader.next()) != null) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+}
@@ -0,0 +1,91 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventBatchItem;
+import com.ieti.proyectoieti.models.EventImportJob;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+class EventImportServiceTest {
+
+  @Mock
+  private EventService eventService;
+
+  private EventImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    importService = new EventImportService(eventService, 2, 2, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    importService.shutdown();
+  }
+
+  @Test
+  void runImport_WritesRecordsInBatchesAndReportsRejectedLines() throws IOException {
+    Path upload = Files.createTempFile("import-test", ".csv");
+    Files.writeString(upload, "title,date,location\n"
+            + "One,2030-01-01,Room\n"
+            + "Two,2030-01-02,Room\n"
+            + "Bad,tomorrow,Room\n"
+            + "Three,2030-01-03,Room\n"
+            + "Four,2030-01-04,Room\n"
+            + "Five,2030-01-05,Room\n", StandardCharsets.UTF_8);
+    List<Integer> batchSizes = new ArrayList<>();
+    when(eventService.createEvents(anyList())).thenAnswer(invocation -> {
+      List<Event> events = invocation.getArgument(0);
+      batchSizes.add(events.size());
+      List<EventBatchItem> items = new ArrayList<>();
+      for (int i = 0; i < events.size(); i++) {
+        Event event = events.get(i);
+        items.add(event.getTitle().equals("Four")
+                ? new EventBatchItem(i, null, "An event with this ID already exists")
+                : new EventBatchItem(i, event.getId(), null));
+      }
+      return items;
+    });
+    EventImportJob job = new EventImportJob("job-1", "season.csv", "CSV");
+
+    importService.runImport(job, upload, EventFileReader.Format.CSV);
+
+    assertEquals(EventImportJob.Status.COMPLETED, job.getStatus());
+    assertEquals(6, job.getRead());
+    assertEquals(4, job.getCreated());
+    assertEquals(2, job.getFailed());
+    assertTrue(job.getErrors().contains("Line 4: Invalid date, expected yyyy-MM-dd"));
+    assertTrue(job.getErrors().contains("Line 6: An event with this ID already exists"));
+    assertTrue(batchSizes.stream().allMatch(size -> size <= 2));
+    assertFalse(Files.exists(upload));
+  }
+
+  @Test
+  void startImport_UnsupportedFile_ThrowsException() {
+    MockMultipartFile file = new MockMultipartFile("file", "events.xlsx", "application/octet-stream", new byte[] {1});
+
+    assertThrows(IllegalArgumentException.class, () -> importService.startImport(file));
+    verifyNoInteractions(eventService);
+  }
+
+  @Test
+  void getJob_UnknownId_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> importService.getJob("missing"));
+  }
+}
@@ -5,17 +5,54 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventBatchItem;
+import com.ieti.proyectoieti.models.EventBrowsePage;
+import com.ieti.proyectoieti.models.EventDeletionJob;
+import com.ieti.proyectoieti.models.EventFacets;
+import com.ieti.proyectoieti.models.EventSummary;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.NearbyEvent;
+import com.ieti.proyectoieti.models.RecurrenceRule;
 import com.ieti.proyectoieti.repositories.EventRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
 
 @ExtendWith(MockitoExtension.class)
 class EventServiceTest {
@@ -23,7 +60,30 @@ class EventServiceTest {
   @Mock
   private EventRepository eventRepository;
 
-  @InjectMocks
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private EventSuggestionIndex suggestionIndex;
+
+  @Mock
+  private UpcomingEventsCache upcomingEvents;
+
+  @Mock
+  private EventResponseCache responseCache;
+
+  @Mock
+  private RsvpService rsvpService;
+
+  @Mock
+  private EventFacetCache facetCache;
+
+  @Mock
+  private EventDuplicateIndex duplicateIndex;
+
+  @Mock
+  private EventDeletionService deletionService;
+
   private EventService eventService;
 
   private Event testEvent;
@@ -35,6 +95,8 @@ class EventServiceTest {
 
   @BeforeEach
   void setUp() {
+    eventService = new EventService(eventRepository, mongoTemplate, suggestionIndex, upcomingEvents,
+            responseCache, rsvpService, facetCache, duplicateIndex, deletionService, 2);
     testEvent = new Event(TITLE, DESCRIPTION, DATE, LOCATION, CATEGORY);
   }
 
@@ -51,6 +113,23 @@ class EventServiceTest {
     assertEquals(LOCATION, event.getLocation());
     assertEquals(CATEGORY, event.getCategory());
     verify(eventRepository).save(any(Event.class));
+    verify(suggestionIndex).add(testEvent);
+    verify(upcomingEvents).add(testEvent);
+    verify(responseCache).invalidateAll();
+    verify(facetCache).invalidateAll();
+    verify(rsvpService).initializeCapacity(testEvent);
+    verify(duplicateIndex).add(testEvent);
+  }
+
+  @Test
+  void createEvent_LikelyDuplicate_ThrowsException() {
+    when(duplicateIndex.findDuplicate(testEvent)).thenReturn(Optional.of("existing-event"));
+
+    IllegalArgumentException exception =
+            assertThrows(IllegalArgumentException.class, () -> eventService.createEvent(testEvent));
+
+    assertTrue(exception.getMessage().contains("existing-event"));
+    verify(eventRepository, never()).save(any(Event.class));
   }
 
   @Test
@@ -80,24 +159,117 @@ class EventServiceTest {
     verify(eventRepository, never()).save(any(Event.class));
   }
 
+  @Test
+  void createEvents_InsertsValidEventsInUnorderedChunks() {
+    Event second = new Event("Second", null, DATE, LOCATION, CATEGORY);
+    Event third = new Event("Third", null, DATE, LOCATION, CATEGORY);
+    Event invalid = new Event(null, null, DATE, LOCATION, CATEGORY);
+    BulkOperations bulk = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class)).thenReturn(bulk);
+
+    List<EventBatchItem> items = eventService.createEvents(List.of(testEvent, invalid, second, third));
+
+    assertEquals(testEvent.getId(), items.get(0).getEventId());
+    assertNotNull(items.get(1).getError());
+    assertEquals(second.getId(), items.get(2).getEventId());
+    assertEquals(third.getId(), items.get(3).getEventId());
+    verify(bulk).insert(List.of(testEvent, second));
+    verify(bulk).insert(List.of(third));
+    verify(bulk, times(2)).execute();
+    verify(suggestionIndex, never()).add(invalid);
+    verify(responseCache).invalidateAll();
+  }
+
+  @Test
+  void createEvents_DuplicateWithinBatch_IsRejected() {
+    Event copy = new Event(TITLE, DESCRIPTION, DATE, LOCATION, CATEGORY);
+    BulkOperations bulk = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class)).thenReturn(bulk);
+    when(duplicateIndex.findDuplicate(testEvent)).thenReturn(Optional.empty());
+    when(duplicateIndex.findDuplicate(copy)).thenReturn(Optional.of(testEvent.getId()));
+
+    List<EventBatchItem> items = eventService.createEvents(List.of(testEvent, copy));
+
+    assertEquals(testEvent.getId(), items.get(0).getEventId());
+    assertEquals("Possible duplicate of event " + testEvent.getId(), items.get(1).getError());
+    verify(duplicateIndex).add(testEvent);
+    verify(bulk).insert(List.of(testEvent));
+  }
+
+  @Test
+  void createEvents_BulkWriteError_ReportsOnlyTheFailedEvent() {
+    Event second = new Event("Second", null, DATE, LOCATION, CATEGORY);
+    BulkOperations bulk = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class)).thenReturn(bulk);
+    BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+    MongoBulkWriteException failure = new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()), List.of(duplicate), null,
+            new ServerAddress(), Set.of());
+    when(bulk.execute()).thenThrow(new BulkOperationException("Bulk write failed", failure));
+
+    List<EventBatchItem> items = eventService.createEvents(List.of(testEvent, second));
+
+    assertEquals(testEvent.getId(), items.get(0).getEventId());
+    assertNull(items.get(1).getEventId());
+    assertEquals("An event with this ID already exists", items.get(1).getError());
+    verify(suggestionIndex).add(testEvent);
+    verify(suggestionIndex, never()).add(second);
+    verify(duplicateIndex).remove(second.getId());
+  }
+
+  @Test
+  void createEvents_ChunkFails_KeepsEarlierChunksAndReportsTheRest() {
+    Event second = new Event("Second", null, DATE, LOCATION, CATEGORY);
+    Event third = new Event("Third", null, DATE, LOCATION, CATEGORY);
+    BulkOperations bulk = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class)).thenReturn(bulk);
+    when(bulk.execute()).thenReturn(null).thenThrow(new DataAccessResourceFailureException("down"));
+
+    List<EventBatchItem> items = eventService.createEvents(List.of(testEvent, second, third));
+
+    assertEquals(testEvent.getId(), items.get(0).getEventId());
+    assertEquals(second.getId(), items.get(1).getEventId());
+    assertEquals("The event could not be stored", items.get(2).getError());
+    verify(rsvpService).initializeCapacity(second);
+    verify(upcomingEvents).add(testEvent);
+    verify(suggestionIndex, never()).add(third);
+    verify(duplicateIndex).remove(third.getId());
+    verify(responseCache).invalidateAll();
+    verify(facetCache).invalidateAll();
+  }
+
   @Test
   void getEvents_ReturnsAllEvents() {
     // Arrange
     List<Event> events = Arrays.asList(testEvent);
     when(eventRepository.findAll()).thenReturn(events);
 
-    List<Event> result = eventService.getEvents();
+    List<Event> result = eventService.getEvents(false);
 
     assertEquals(1, result.size());
     assertTrue(result.contains(testEvent));
   }
 
+  @Test
+  void getEvents_IncludeArchived_UnionsArchiveCollection() {
+    Event archived = new Event("Old Meetup", "Last year", LocalDate.now().minusYears(2), "Hall", CATEGORY);
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Event.class)))
+            .thenReturn(new AggregationResults<>(List.of(testEvent, archived), new Document()));
+
+    List<Event> result = eventService.getEvents(true);
+
+    assertEquals(List.of(testEvent, archived), result);
+    verify(eventRepository, never()).findAll();
+    verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> aggregation.getPipeline().getOperations()
+            .stream().anyMatch(UnionWithOperation.class::isInstance)), eq(Event.class), eq(Event.class));
+  }
+
   @Test
   void getEventsByCategory_ValidCategory_ReturnsEvents() {
     List<Event> events = Arrays.asList(testEvent);
     when(eventRepository.findByCategory(CATEGORY)).thenReturn(events);
 
-    List<Event> result = eventService.getEventsByCategory(CATEGORY);
+    List<Event> result = eventService.getEventsByCategory(CATEGORY, false);
 
     assertEquals(1, result.size());
     verify(eventRepository).findByCategory(CATEGORY);
@@ -106,33 +278,210 @@ class EventServiceTest {
   @Test
   void getUpcomingEvents_ReturnsUpcomingEvents() {
     List<Event> events = Arrays.asList(testEvent);
-    when(eventRepository.findByDateAfter(any(LocalDate.class))).thenReturn(events);
+    when(upcomingEvents.getUpcoming(null, null, null)).thenReturn(events);
 
     List<Event> result = eventService.getUpcomingEvents();
 
     assertEquals(1, result.size());
-    verify(eventRepository).findByDateAfter(any(LocalDate.class));
+    verify(eventRepository, never()).findByDateAfter(any(LocalDate.class));
   }
 
   @Test
-  void searchEventsByLocation_ValidLocation_ReturnsEvents() {
-    List<Event> events = Arrays.asList(testEvent);
-    when(eventRepository.findByLocationContainingIgnoreCase(LOCATION)).thenReturn(events);
+  void createEvent_RecurrenceEndsBeforeStart_ThrowsException() {
+    testEvent.setRecurrence(new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, DATE.minusDays(1)));
+
+    assertThrows(IllegalArgumentException.class, () -> eventService.createEvent(testEvent));
+    verify(eventRepository, never()).save(any(Event.class));
+  }
 
-    List<Event> result = eventService.searchEventsByLocation(LOCATION);
+  @Test
+  void getUpcomingEvents_InvalidRange_ThrowsException() {
+    assertThrows(IllegalArgumentException.class,
+            () -> eventService.getUpcomingEvents(null, DATE, DATE.minusDays(1)));
 
-    assertEquals(1, result.size());
-    verify(eventRepository).findByLocationContainingIgnoreCase(LOCATION);
+    verifyNoInteractions(upcomingEvents);
+  }
+
+  @Test
+  void getUpcomingEvents_WindowTooLong_ThrowsException() {
+    assertThrows(IllegalArgumentException.class,
+            () -> eventService.getUpcomingEvents(null, null, LocalDate.of(9999, 12, 31)));
+
+    verifyNoInteractions(upcomingEvents);
   }
 
   @Test
-  void deleteEvent_ExistingEvent_DeletesEvent() {
+  void searchEvents_ValidQuery_ReturnsRankedPage() {
+    Page<Event> page = new PageImpl<>(List.of(testEvent));
+    when(eventRepository.findAllBy(any(TextCriteria.class), any(Pageable.class))).thenReturn(page);
+
+    Page<Event> result = eventService.searchEvents("test location", 0, 20);
+
+    assertEquals(1, result.getTotalElements());
+    verify(eventRepository).findAllBy(any(TextCriteria.class), eq(PageRequest.of(0, 20, Sort.by("score"))));
+  }
+
+  @Test
+  void searchEvents_BlankQuery_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> eventService.searchEvents("  ", 0, 20));
+    assertThrows(IllegalArgumentException.class, () -> eventService.searchEvents("test", 0, 0));
+
+    verify(eventRepository, never()).findAllBy(any(TextCriteria.class), any(Pageable.class));
+  }
+
+  @Test
+  void browseEvents_FacetsNotCached_RunsFacetAggregationAndCachesCounts() {
+    Document result = new Document("results", List.of())
+            .append("months", List.of(new Document("_id", "2025-03").append("count", 3)))
+            .append("total", List.of(new Document("total", 3)));
+    List<Document> categories = List.of(
+            new Document("_id", "Meeting").append("count", 3),
+            new Document("_id", "Social").append("count", 1));
+    when(facetCache.generation()).thenReturn(4L);
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(result), new Document()),
+                    new AggregationResults<>(categories, new Document()));
+
+    EventBrowsePage page = eventService.browseEvents("Meeting", null, null, 0, 20);
+
+    assertEquals(Map.of("Meeting", 3L, "Social", 1L), page.getFacets().getCategories());
+    assertEquals(Map.of("2025-03", 3L), page.getFacets().getMonths());
+    assertEquals(3, page.getFacets().getTotal());
+    verify(facetCache).put("=Meeting|null|null", 4L, page.getFacets());
+    ArgumentCaptor<Aggregation> aggregations = ArgumentCaptor.forClass(Aggregation.class);
+    verify(mongoTemplate, times(2)).aggregate(aggregations.capture(), eq(Event.class), eq(Document.class));
+    Document firstMatch = aggregations.getAllValues().get(0).toPipeline(Aggregation.DEFAULT_CONTEXT).get(1);
+    assertEquals("Meeting", firstMatch.get("$match", Document.class).get("category"));
+  }
+
+  @Test
+  void browseEvents_UnfilteredFacetsCached_ReusesCategoryCounts() {
+    EventFacets unfiltered = new EventFacets(Map.of("Meeting", 3L, "Social", 1L), Map.of(), 4);
+    Document result = new Document("results", List.of())
+            .append("months", List.of())
+            .append("total", List.of(new Document("total", 3)));
+    when(facetCache.get(anyString())).thenAnswer(invocation ->
+            "*|null|null".equals(invocation.getArgument(0)) ? unfiltered : null);
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+
+    EventBrowsePage page = eventService.browseEvents("Meeting", null, null, 0, 20);
+
+    assertEquals(unfiltered.getCategories(), page.getFacets().getCategories());
+    verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class));
+  }
+
+  @Test
+  void browseEvents_CategoryNamedNull_DoesNotReadUnfilteredFacets() {
+    EventFacets unfiltered = new EventFacets(Map.of("null", 1L, "Social", 5L), Map.of(), 6);
+    Document result = new Document("results", List.of())
+            .append("months", List.of())
+            .append("total", List.of(new Document("total", 1)));
+    when(facetCache.get(anyString())).thenAnswer(invocation ->
+            "*|null|null".equals(invocation.getArgument(0)) ? unfiltered : null);
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+
+    EventBrowsePage page = eventService.browseEvents("null", null, null, 0, 20);
+
+    assertEquals(1, page.getFacets().getTotal());
+    verify(facetCache).put(eq("=null|null|null"), anyLong(), any(EventFacets.class));
+  }
+
+  @Test
+  void browseEvents_FacetsCached_ReadsOnlyThePage() {
+    EventFacets facets = new EventFacets(Map.of(CATEGORY, 1L), Map.of(), 1);
+    when(facetCache.get("=" + CATEGORY + "|null|null")).thenReturn(facets);
+    when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(testEvent));
+
+    EventBrowsePage page = eventService.browseEvents(CATEGORY, null, null, 1, 10);
+
+    assertEquals(List.of(testEvent), page.getContent());
+    assertSame(facets, page.getFacets());
+    verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class));
+  }
+
+  @Test
+  void browseEvents_InvalidRange_ThrowsException() {
+    assertThrows(IllegalArgumentException.class,
+            () -> eventService.browseEvents(null, DATE, DATE.minusDays(1), 0, 20));
+    assertThrows(IllegalArgumentException.class, () -> eventService.browseEvents(null, null, null, -1, 20));
+
+    verifyNoInteractions(mongoTemplate, facetCache);
+  }
+
+  @Test
+  void updateEvent_TitleChanged_RewritesGroupSummaries() {
+    Event changes = new Event("Renamed Event", "Test Description", testEvent.getDate(), "Test Location", CATEGORY);
+    when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
+    when(duplicateIndex.findDuplicate(changes)).thenReturn(Optional.empty());
+    when(eventRepository.save(changes)).thenReturn(changes);
+
+    Event result = eventService.updateEvent(testEvent.getId(), changes);
+
+    assertEquals(testEvent.getId(), result.getId());
+    assertEquals(testEvent.getCreatedAt(), result.getCreatedAt());
+    assertNotNull(result.getUpdatedAt());
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateMulti(any(Query.class), update.capture(), eq(Group.class));
+    EventSummary summary = (EventSummary) update.getValue().getUpdateObject().get("$set", Document.class).get("event");
+    assertEquals("Renamed Event", summary.getTitle());
+    verify(duplicateIndex).add(changes);
+    verify(suggestionIndex).add(changes);
+    verify(upcomingEvents).add(changes);
+    verify(responseCache).invalidateAll();
+    verify(facetCache).invalidateAll();
+  }
+
+  @Test
+  void updateEvent_OnlyDescriptionChanged_LeavesGroupsUntouched() {
+    Event changes = new Event(testEvent.getTitle(), "New description", testEvent.getDate(),
+            testEvent.getLocation(), testEvent.getCategory());
+    when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
+    when(duplicateIndex.findDuplicate(changes)).thenReturn(Optional.empty());
+    when(eventRepository.save(changes)).thenReturn(changes);
+
+    eventService.updateEvent(testEvent.getId(), changes);
+
+    verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Group.class));
+  }
+
+  @Test
+  void updateEvent_CapacityChanged_ThrowsException() {
+    Event changes = new Event("Renamed Event", null, testEvent.getDate(), "Test Location", CATEGORY);
+    changes.setCapacity(10);
+    when(eventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
+
+    assertThrows(IllegalArgumentException.class, () -> eventService.updateEvent(testEvent.getId(), changes));
+    verify(eventRepository, never()).save(any(Event.class));
+  }
+
+  @Test
+  void updateEvent_NonExistingEvent_ThrowsException() {
+    when(eventRepository.findById("missing")).thenReturn(Optional.empty());
+
+    assertThrows(IllegalArgumentException.class, () -> eventService.updateEvent("missing", testEvent));
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  @Test
+  void deleteEvent_ExistingEvent_DeletesEventAndStartsGroupCleanup() {
     String eventId = "event-123";
+    EventDeletionJob job = new EventDeletionJob("job-1", eventId);
     when(eventRepository.existsById(eventId)).thenReturn(true);
     doNothing().when(eventRepository).deleteById(eventId);
-
-    assertDoesNotThrow(() -> eventService.deleteEvent(eventId));
-    verify(eventRepository).deleteById(eventId);
+    when(deletionService.deleteGroupsOf(eventId)).thenReturn(job);
+
+    assertSame(job, eventService.deleteEvent(eventId));
+    InOrder order = inOrder(deletionService, eventRepository);
+    order.verify(deletionService).recordDeletion(eventId);
+    order.verify(eventRepository).deleteById(eventId);
+    verify(suggestionIndex).remove(eventId);
+    verify(upcomingEvents).remove(eventId);
+    verify(responseCache).invalidateAll();
+    verify(facetCache).invalidateAll();
+    verify(rsvpService).deleteForEvent(eventId);
+    verify(duplicateIndex).remove(eventId);
   }
 
   @Test
@@ -142,5 +491,39 @@ class EventServiceTest {
 
     assertThrows(IllegalArgumentException.class, () -> eventService.deleteEvent(eventId));
     verify(eventRepository, never()).deleteById(eventId);
+    verifyNoInteractions(deletionService);
+  }
+
+  @Test
+  void suggestEvents_InvalidLimit_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> eventService.suggestEvents("tes", 0));
+    assertThrows(IllegalArgumentException.class, () -> eventService.suggestEvents(" ", 10));
+
+    verifyNoInteractions(suggestionIndex);
+  }
+
+  @Test
+  void findEventsNear_ValidParameters_ReturnsEventsWithDistance() {
+    testEvent.setGeoLocation(new GeoJsonPoint(-74.0817, 4.6097));
+    GeoResults<Event> results = new GeoResults<>(List.of(new GeoResult<>(testEvent, new Distance(0))));
+    when(mongoTemplate.geoNear(any(NearQuery.class), eq(Event.class))).thenReturn(results);
+
+    List<NearbyEvent> nearby = eventService.findEventsNear(4.61, -74.08, 5, null, null);
+
+    assertEquals(1, nearby.size());
+    assertEquals(testEvent, nearby.get(0).getEvent());
+    assertTrue(nearby.get(0).getDistanceKm() < 1);
+  }
+
+  @Test
+  void findEventsNear_InvalidRadius_ThrowsException() {
+    assertThrows(
+            IllegalArgumentException.class,
+            () -> eventService.findEventsNear(4.61, -74.08, 0, null, null));
+    assertThrows(
+            IllegalArgumentException.class,
+            () -> eventService.findEventsNear(4.61, -74.08, 1000, null, null));
+
+    verify(mongoTemplate, never()).geoNear(any(NearQuery.class), eq(Event.class));
   }
-}
\ No newline at end of file
+}
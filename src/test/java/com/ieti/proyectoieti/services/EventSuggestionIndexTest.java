@@ -0,0 +1,79 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventSummary;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EventSuggestionIndexTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  private EventSuggestionIndex index;
+  private Event concert;
+  private Event conference;
+
+  @BeforeEach
+  void setUp() {
+    index = new EventSuggestionIndex(mongoTemplate);
+    concert = new Event("Rock Concert", null, LocalDate.now().plusDays(3), "Movistar Arena", "Music");
+    conference = new Event("Tech Conference", null, LocalDate.now().plusDays(1), "Ágora Bogotá", "Tech");
+    index.add(concert);
+    index.add(conference);
+  }
+
+  @Test
+  void suggest_SharedPrefix_ReturnsMatchesByDate() {
+    List<EventSummary> suggestions = index.suggest("con", 10);
+
+    assertEquals(List.of(conference.getId(), concert.getId()), ids(suggestions));
+  }
+
+  @Test
+  void suggest_Typo_ReturnsCloseMatch() {
+    List<EventSummary> suggestions = index.suggest("confrence", 10);
+
+    assertEquals(List.of(conference.getId()), ids(suggestions));
+  }
+
+  @Test
+  void suggest_AccentsAndSeveralWords_MatchesAllWords() {
+    assertEquals(List.of(conference.getId()), ids(index.suggest("tech agora", 10)));
+    assertTrue(index.suggest("rock agora", 10).isEmpty());
+  }
+
+  @Test
+  void suggest_ShortPrefix_RequiresExactMatch() {
+    assertTrue(index.suggest("cxn", 10).isEmpty());
+  }
+
+  @Test
+  void remove_IndexedEvent_NoLongerSuggested() {
+    index.remove(concert.getId());
+
+    assertEquals(List.of(conference.getId()), ids(index.suggest("con", 10)));
+    assertTrue(index.suggest("rock", 10).isEmpty());
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void prefixDistance_CountsEditsAgainstBestPrefix() {
+    assertEquals(0, EventSuggestionIndex.prefixDistance("conf", "conference", 2));
+    assertEquals(2, EventSuggestionIndex.prefixDistance("cnof", "conference", 2));
+    assertEquals(1, EventSuggestionIndex.prefixDistance("confx", "conference", 2));
+  }
+
+  private static List<String> ids(List<EventSummary> suggestions) {
+    return suggestions.stream().map(EventSummary::getId).toList();
+  }
+}
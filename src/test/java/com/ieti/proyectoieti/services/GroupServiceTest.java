@@ -4,16 +4,35 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.ieti.proyectoieti.models.Event;
 import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.GroupInvite;
+import com.ieti.proyectoieti.models.GroupView;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.ieti.proyectoieti.repositories.GroupInviteRepository;
 import com.ieti.proyectoieti.repositories.GroupRepository;
+import com.ieti.proyectoieti.repositories.WaitlistRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 @ExtendWith(MockitoExtension.class)
 class GroupServiceTest {
@@ -21,6 +40,21 @@ class GroupServiceTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private GroupInviteRepository groupInviteRepository;
+
+    @Spy
+    private InviteTokenService inviteTokenService = new InviteTokenService("test-secret");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TrendingService trendingService;
+
     @InjectMocks
     private GroupService groupService;
 
@@ -41,7 +75,10 @@ class GroupServiceTest {
 
     @Test
     void createGroup_ValidParameters_CreatesGroup() {
+        Event event = new Event("Team Meeting", null, LocalDate.of(2025, 3, 14), "Room A", "Meeting");
+        event.setId(EVENT_ID);
         when(groupRepository.existsByNameAndEventId(NAME, EVENT_ID)).thenReturn(false);
+        when(mongoTemplate.findOne(any(Query.class), eq(Event.class))).thenReturn(event);
         when(groupRepository.existsByInviteCode(any())).thenReturn(false);
 
         Group savedGroup = new Group(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID);
@@ -59,7 +96,35 @@ class GroupServiceTest {
         assertTrue(result.isMember(CREATOR_ID));
 
         verify(groupRepository).save(any(Group.class));
+        verify(trendingService).record(EVENT_ID, TrendingService.Activity.GROUP_CREATED);
     }
+
+    @Test
+    void createGroup_WithEvent_EmbedsEventSummary() {
+        Event event = new Event("Team Meeting", null, LocalDate.of(2025, 3, 14), "Room A", "Meeting");
+        event.setId(EVENT_ID);
+        when(groupRepository.existsByNameAndEventId(NAME, EVENT_ID)).thenReturn(false);
+        when(groupRepository.existsByInviteCode(any())).thenReturn(false);
+        when(mongoTemplate.findOne(any(Query.class), eq(Event.class))).thenReturn(event);
+        when(groupRepository.save(any(Group.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Group result = groupService.createGroup(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID);
+
+        assertEquals(EVENT_ID, result.getEvent().getId());
+        assertEquals("Team Meeting", result.getEvent().getTitle());
+        assertEquals(LocalDate.of(2025, 3, 14), result.getEvent().getDate());
+    }
+
+    @Test
+    void createGroup_UnknownEvent_ThrowsException() {
+        when(groupRepository.existsByNameAndEventId(NAME, EVENT_ID)).thenReturn(false);
+        when(mongoTemplate.findOne(any(Query.class), eq(Event.class))).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> groupService.createGroup(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID));
+        verify(groupRepository, never()).save(any(Group.class));
+    }
+
     @Test
     void createGroup_DuplicateName_ThrowsException() {
         when(groupRepository.existsByNameAndEventId(NAME, EVENT_ID)).thenReturn(true);
@@ -72,12 +137,25 @@ class GroupServiceTest {
     void joinGroupWithInviteCode_ValidCode_AddsMember() {
         String userId = "user-456";
         when(groupRepository.findByInviteCode(INVITE_CODE)).thenReturn(Optional.of(testGroup));
-        when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
+        stubGroupUpdate(groupWithMember(userId));
 
         Group result = groupService.joinGroupWithInviteCode(INVITE_CODE, userId);
 
         assertTrue(result.isMember(userId));
-        verify(groupRepository).save(testGroup);
+        verify(groupRepository, never()).save(any(Group.class));
+        verify(trendingService).record(EVENT_ID, TrendingService.Activity.GROUP_JOINED);
+    }
+
+    @Test
+    void joinGroupWithInviteCode_SlotTakenConcurrently_ThrowsException() {
+        String userId = "user-456";
+        when(groupRepository.findByInviteCode(INVITE_CODE)).thenReturn(Optional.of(testGroup));
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+        stubGroupUpdate(null);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> groupService.joinGroupWithInviteCode(INVITE_CODE, userId));
+        assertEquals("Group is full", exception.getMessage());
     }
 
     @Test
@@ -127,26 +205,33 @@ class GroupServiceTest {
     void addMemberToGroup_ValidUser_AddsMember() {
         String userId = "user-456";
         when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
-        when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
+        stubGroupUpdate(groupWithMember(userId));
 
         Group result = groupService.addMemberToGroup(GROUP_ID, userId);
 
         assertTrue(result.isMember(userId));
-        verify(groupRepository).save(testGroup);
+        verify(groupRepository, never()).save(any(Group.class));
     }
 
     @Test
     void removeMemberFromGroup_ValidUser_RemovesMember() {
         String userId = "user-456";
-        testGroup.addMember(userId);
-
-        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
-        when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
+        stubGroupUpdate(testGroup);
 
         Group result = groupService.removeMemberFromGroup(GROUP_ID, userId);
 
         assertFalse(result.isMember(userId));
-        verify(groupRepository).save(testGroup);
+        verify(groupRepository, never()).save(any(Group.class));
+    }
+
+    @Test
+    void removeMemberFromGroup_NotMember_ThrowsException() {
+        stubGroupUpdate(null);
+        when(groupRepository.existsById(GROUP_ID)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> groupService.removeMemberFromGroup(GROUP_ID, "user-456"));
+        assertEquals("User is not a member of this group", exception.getMessage());
     }
 
     @Test
@@ -155,15 +240,19 @@ class GroupServiceTest {
         String newDescription = "Updated Description";
         int newMaxMembers = 20;
 
+        Group updatedGroup = new Group(newName, newDescription, CREATOR_ID, EVENT_ID);
+        updatedGroup.setId(GROUP_ID);
+        updatedGroup.setMaxMembers(newMaxMembers);
+
         when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
-        when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
+        stubGroupUpdate(updatedGroup);
 
-        Group result = groupService.updateGroup(GROUP_ID, newName, newDescription, newMaxMembers);
+        Group result = groupService.updateGroup(GROUP_ID, newName, newDescription, newMaxMembers, null);
 
         assertEquals(newName, result.getName());
         assertEquals(newDescription, result.getDescription());
         assertEquals(newMaxMembers, result.getMaxMembers());
-        verify(groupRepository).save(testGroup);
+        verify(groupRepository, never()).save(any(Group.class));
     }
 
     @Test
@@ -177,7 +266,7 @@ class GroupServiceTest {
         when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
 
         assertThrows(IllegalArgumentException.class,
-                () -> groupService.updateGroup(GROUP_ID, "New Name", "New Desc", newMaxMembers));
+                () -> groupService.updateGroup(GROUP_ID, "New Name", "New Desc", newMaxMembers, null));
     }
 
     @Test
@@ -188,23 +277,39 @@ class GroupServiceTest {
         int newMaxMembers = 3;
 
         when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
-        when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
+        stubGroupUpdate(testGroup);
 
         assertDoesNotThrow(() ->
-                groupService.updateGroup(GROUP_ID, "New Name", "New Desc", newMaxMembers));
+                groupService.updateGroup(GROUP_ID, "New Name", "New Desc", newMaxMembers, null));
     }
 
     @Test
     void generateNewInviteCode_ValidGroup_GeneratesNewCode() {
         when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
         when(groupRepository.existsByInviteCode(any())).thenReturn(false);
-        when(groupRepository.save(any(Group.class))).thenReturn(testGroup);
 
         String newCode = groupService.generateNewInviteCode(GROUP_ID);
 
         assertNotNull(newCode);
         assertNotEquals(INVITE_CODE, newCode);
-        verify(groupRepository).save(testGroup);
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(Group.class));
+    }
+
+    @Test
+    void getOpenGroupsByEvent_ValidLimit_QueriesOpenSlotsIndex() {
+        when(groupRepository.findByEventIdAndOpenSlotsGreaterThan(eq(EVENT_ID), eq(0), any(Pageable.class)))
+                .thenReturn(List.of(testGroup));
+
+        List<Group> result = groupService.getOpenGroupsByEvent(EVENT_ID, 10);
+
+        assertEquals(1, result.size());
+        verify(groupRepository, never()).findByEventId(any());
+    }
+
+    @Test
+    void getOpenGroupsByEvent_InvalidLimit_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> groupService.getOpenGroupsByEvent(EVENT_ID, 0));
+        assertThrows(IllegalArgumentException.class, () -> groupService.getOpenGroupsByEvent(EVENT_ID, 500));
     }
 
     @Test
@@ -223,7 +328,7 @@ class GroupServiceTest {
         List<Group> groups = List.of(testGroup);
         when(groupRepository.findByEventId(EVENT_ID)).thenReturn(groups);
 
-        List<Group> result = groupService.getGroupsByEvent(EVENT_ID);
+        List<Group> result = groupService.getGroupsByEvent(EVENT_ID, false);
 
         assertEquals(1, result.size());
         assertEquals(testGroup, result.get(0));
@@ -242,4 +347,270 @@ class GroupServiceTest {
         assertEquals(1, result.size());
         assertEquals(testGroup, result.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getGroupView_ExistingGroup_ReturnsExpandedView() {
+        GroupView view = new GroupView();
+        view.setId(GROUP_ID);
+        view.setName(NAME);
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(GroupView.class)))
+                .thenReturn(new AggregationResults<>(List.of(view), new Document()));
+
+        Optional<GroupView> result = groupService.getGroupView(GROUP_ID, true, true);
+
+        assertTrue(result.isPresent());
+        assertEquals(GROUP_ID, result.get().getId());
+        verify(groupRepository, never()).findById(any());
+    }
+
+    @Test
+    void getGroupView_MissingGroup_ReturnsEmpty() {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(GroupView.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        Optional<GroupView> result = groupService.getGroupView(GROUP_ID, true, false);
+
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void joinWaitlist_FullGroup_QueuesUser() {
+        String userId = "user-456";
+        testGroup.setMaxMembers(1);
+        testGroup.setWaitlistEnabled(true);
+        Group sequenced = new Group(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID);
+        sequenced.setId(GROUP_ID);
+        sequenced.setWaitlistSequence(3);
+
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+        stubGroupUpdate(sequenced);
+        when(waitlistRepository.insert(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WaitlistEntry entry = groupService.joinWaitlist(GROUP_ID, userId);
+
+        assertEquals(userId, entry.getUserId());
+        assertEquals(3, entry.getSequence());
+    }
+
+    @Test
+    void joinWaitlist_WaitlistDisabled_ThrowsException() {
+        testGroup.setMaxMembers(1);
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+
+        assertThrows(IllegalArgumentException.class, () -> groupService.joinWaitlist(GROUP_ID, "user-456"));
+        verify(waitlistRepository, never()).insert(any(WaitlistEntry.class));
+    }
+
+    @Test
+    void getWaitlistPosition_QueuedUser_CountsEntriesAhead() {
+        WaitlistEntry entry = new WaitlistEntry(GROUP_ID, "user-456", 9);
+        when(waitlistRepository.findByGroupIdAndUserId(GROUP_ID, "user-456")).thenReturn(Optional.of(entry));
+        when(waitlistRepository.countByGroupIdAndSequenceLessThan(GROUP_ID, 9)).thenReturn(2L);
+
+        assertEquals(3, groupService.getWaitlistPosition(GROUP_ID, "user-456"));
+    }
+
+    @Test
+    void removeMemberFromGroup_WaitlistedUser_IsPromoted() {
+        String waitingUser = "user-789";
+        Group afterLeave = new Group(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID);
+        afterLeave.setId(GROUP_ID);
+        afterLeave.setMaxMembers(2);
+        afterLeave.setWaitlistEnabled(true);
+        Group afterPromotion = groupWithMember(waitingUser);
+        afterPromotion.setMaxMembers(2);
+
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Group.class)))
+                .thenReturn(afterLeave, afterPromotion);
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(WaitlistEntry.class)))
+                .thenReturn(claimedEntry(waitingUser));
+
+        Group result = groupService.removeMemberFromGroup(GROUP_ID, "user-456");
+
+        assertTrue(result.isMember(waitingUser));
+        assertFalse(result.hasSpace());
+        verify(mongoTemplate).remove(
+                argThat((Query query) -> "waitlist-1".equals(query.getQueryObject().get("_id"))),
+                eq(WaitlistEntry.class));
+        verify(trendingService).record(EVENT_ID, TrendingService.Activity.GROUP_JOINED);
+    }
+
+    @Test
+    void removeMemberFromGroup_SlotTakenBeforePromotion_ReleasesClaim() {
+        String waitingUser = "user-789";
+        Group afterLeave = new Group(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID);
+        afterLeave.setId(GROUP_ID);
+        afterLeave.setMaxMembers(2);
+        afterLeave.setWaitlistEnabled(true);
+        Group full = groupWithMember("user-999");
+        full.setMaxMembers(2);
+
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Group.class)))
+                .thenReturn(afterLeave, (Group) null);
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(WaitlistEntry.class)))
+                .thenReturn(claimedEntry(waitingUser));
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(full));
+
+        groupService.removeMemberFromGroup(GROUP_ID, "user-456");
+
+        verify(mongoTemplate).updateFirst(any(Query.class),
+                argThat((Update update) -> update.getUpdateObject().containsKey("$unset")), eq(WaitlistEntry.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(WaitlistEntry.class));
+    }
+
+    @Test
+    void resumeStalledPromotions_StaleClaim_PromotesWaiter() {
+        String waitingUser = "user-789";
+        Group afterPromotion = groupWithMember(waitingUser);
+        afterPromotion.setMaxMembers(2);
+
+        when(mongoTemplate.findDistinct(any(Query.class), eq("groupId"), eq(WaitlistEntry.class), eq(String.class)))
+                .thenReturn(List.of(GROUP_ID));
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(WaitlistEntry.class)))
+                .thenReturn(claimedEntry(waitingUser), (WaitlistEntry) null);
+        stubGroupUpdate(afterPromotion);
+
+        groupService.resumeStalledPromotions();
+
+        verify(mongoTemplate).remove(any(Query.class), eq(WaitlistEntry.class));
+    }
+
+    @Test
+    void getGroupByInviteCode_Token_ReadsGroupOnlyAtTokenVersion() {
+        String token = inviteTokenService.issue(GROUP_ID, 2, Instant.now().plus(1, ChronoUnit.HOURS));
+        when(mongoTemplate.findOne(any(Query.class), eq(Group.class))).thenReturn(testGroup);
+
+        Optional<Group> result = groupService.getGroupByInviteCode(token);
+
+        assertSame(testGroup, result.orElseThrow());
+        verify(mongoTemplate).findOne(
+                argThat((Query query) -> query.getQueryObject().toJson().contains("\"inviteVersion\": 2")),
+                eq(Group.class));
+        verify(groupRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getGroupByInviteCode_VersionZeroToken_MatchesGroupWithoutInviteVersion() {
+        // Stored before invite versions existed, so the document has no inviteVersion field.
+        Document legacy = new Document("_id", GROUP_ID).append("name", NAME);
+        String token = inviteTokenService.issue(GROUP_ID, 0, Instant.now().plus(1, ChronoUnit.HOURS));
+        when(mongoTemplate.findOne(any(Query.class), eq(Group.class))).thenAnswer(invocation -> {
+            Document filter = invocation.getArgument(0, Query.class).getQueryObject();
+            Document version = filter.getList("$and", Document.class).get(0).get("inviteVersion", Document.class);
+            return version.getList("$in", Object.class).contains(legacy.get("inviteVersion")) ? testGroup : null;
+        });
+
+        Optional<Group> result = groupService.getGroupByInviteCode(token);
+
+        assertSame(testGroup, result.orElseThrow());
+    }
+
+    @Test
+    void joinGroupWithInviteCode_LimitedInvite_ClaimsUseAndJoins() {
+        String userId = "user-456";
+        String code = "K7QW2M9XRA";
+        GroupInvite claimed = new GroupInvite(code, GROUP_ID, 1, LocalDateTime.now().plusHours(1));
+        claimed.setRemainingUses(0);
+
+        when(groupRepository.findByInviteCode(code)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(GroupInvite.class)))
+                .thenReturn(claimed);
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+        stubGroupUpdate(groupWithMember(userId));
+
+        Group result = groupService.joinGroupWithInviteCode(code, userId);
+
+        assertTrue(result.isMember(userId));
+        verify(groupInviteRepository).deleteById(code);
+    }
+
+    @Test
+    void joinGroupWithInviteCode_ExpiredOrUsedInvite_ThrowsException() {
+        String code = "K7QW2M9XRA";
+        when(groupRepository.findByInviteCode(code)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> groupService.joinGroupWithInviteCode(code, "user-456"));
+        verify(mongoTemplate, never()).findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Group.class));
+    }
+
+    @Test
+    void joinGroupWithInviteCode_LimitedInviteJoinRejected_ReleasesUse() {
+        String code = "K7QW2M9XRA";
+        GroupInvite claimed = new GroupInvite(code, GROUP_ID, 2, LocalDateTime.now().plusHours(1));
+
+        when(groupRepository.findByInviteCode(code)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(GroupInvite.class)))
+                .thenReturn(claimed);
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> groupService.joinGroupWithInviteCode(code, CREATOR_ID));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(GroupInvite.class));
+    }
+
+    @Test
+    void createInvite_DefaultParameters_IssuesSingleUseInvite() {
+        when(groupRepository.existsById(GROUP_ID)).thenReturn(true);
+        when(groupInviteRepository.insert(any(GroupInvite.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        GroupInvite invite = groupService.createInvite(GROUP_ID, null, null);
+
+        assertEquals(GROUP_ID, invite.getGroupId());
+        assertEquals(1, invite.getRemainingUses());
+        assertEquals(10, invite.getCode().length());
+        assertTrue(invite.isUsable());
+    }
+
+    @Test
+    void joinGroupWithInviteCode_SignedToken_JoinsWithoutInviteCodeLookup() {
+        String userId = "user-456";
+        String token = inviteTokenService.issue(GROUP_ID, 0, Instant.now().plus(1, ChronoUnit.HOURS));
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+        stubGroupUpdate(groupWithMember(userId));
+
+        Group result = groupService.joinGroupWithInviteCode(token, userId);
+
+        assertTrue(result.isMember(userId));
+        verify(groupRepository, never()).findByInviteCode(any());
+    }
+
+    @Test
+    void joinGroupWithInviteCode_RevokedToken_ThrowsException() {
+        String token = inviteTokenService.issue(GROUP_ID, 0, Instant.now().plus(1, ChronoUnit.HOURS));
+        testGroup.setInviteVersion(1);
+        when(groupRepository.findById(GROUP_ID)).thenReturn(Optional.of(testGroup));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> groupService.joinGroupWithInviteCode(token, "user-456"));
+        assertEquals("Invite link has been revoked", exception.getMessage());
+    }
+
+    private WaitlistEntry claimedEntry(String userId) {
+        WaitlistEntry entry = new WaitlistEntry(GROUP_ID, userId, 1);
+        entry.setId("waitlist-1");
+        entry.setClaimedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    private Group groupWithMember(String userId) {
+        Group group = new Group(NAME, DESCRIPTION, CREATOR_ID, EVENT_ID);
+        group.setId(GROUP_ID);
+        group.addMember(userId);
+        return group;
+    }
+
+    private void stubGroupUpdate(Group result) {
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Group.class)))
+                .thenReturn(result);
+    }
+}
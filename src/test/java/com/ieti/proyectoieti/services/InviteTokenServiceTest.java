@@ -0,0 +1,60 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class InviteTokenServiceTest {
+
+    private static final String GROUP_ID = "group-123";
+
+    private final InviteTokenService inviteTokenService = new InviteTokenService("test-secret");
+
+    @Test
+    void verify_IssuedToken_ReturnsClaims() {
+        Instant expiresAt = Instant.now().plus(2, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        String token = inviteTokenService.issue(GROUP_ID, 3, expiresAt);
+
+        Optional<InviteTokenService.InviteClaims> claims = inviteTokenService.verify(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals(GROUP_ID, claims.get().getGroupId());
+        assertEquals(expiresAt, claims.get().getExpiresAt());
+        assertEquals(3, claims.get().getVersion());
+        assertFalse(claims.get().isExpired());
+    }
+
+    @Test
+    void verify_TamperedToken_ReturnsEmpty() {
+        String token = inviteTokenService.issue(GROUP_ID, 0, Instant.now().plus(1, ChronoUnit.HOURS));
+        String forged = inviteTokenService.issue("group-999", 0, Instant.now().plus(1, ChronoUnit.HOURS));
+        String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertTrue(inviteTokenService.verify(tampered).isEmpty());
+        assertTrue(inviteTokenService.verify("not.a-token").isEmpty());
+    }
+
+    @Test
+    void verify_TokenFromOtherSecret_ReturnsEmpty() {
+        InviteTokenService other = new InviteTokenService("other-secret");
+        String token = other.issue(GROUP_ID, 0, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertTrue(inviteTokenService.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_ExpiredToken_IsFlaggedExpired() {
+        String token = inviteTokenService.issue(GROUP_ID, 0, Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        assertTrue(inviteTokenService.verify(token).orElseThrow().isExpired());
+    }
+
+    @Test
+    void isToken_PlainInviteCode_ReturnsFalse() {
+        assertFalse(InviteTokenService.isToken("ABC123"));
+        assertTrue(InviteTokenService.isToken("abc.def"));
+    }
+}
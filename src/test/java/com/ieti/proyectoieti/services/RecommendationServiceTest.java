@@ -0,0 +1,122 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventSummary;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.RecommendedEvent;
+import com.ieti.proyectoieti.models.UserRecommendations;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private BulkOperations bulkOperations;
+
+  private RecommendationService recommendationService;
+
+  @BeforeEach
+  void setUp() {
+    recommendationService = new RecommendationService(mongoTemplate, 20);
+  }
+
+  @Test
+  void refresh_ScoresEventsByDistinctCoMembers() {
+    Event boardGames = event("board-games", 5);
+    Event concert = event("concert", 3);
+    Event hike = event("hike", 4);
+    when(mongoTemplate.stream(any(Query.class), eq(Event.class))).thenReturn(Stream.of(boardGames, concert, hike));
+    when(mongoTemplate.stream(any(Query.class), eq(Group.class))).thenReturn(Stream.of(
+            // A past event's group still makes its members co-members.
+            group("past-event", "ana", "bob", "carla"),
+            group("board-games", "bob"),
+            group("board-games", "bob", "carla"),
+            group("concert", "carla"),
+            group("hike", "ana", "dan"),
+            group("concert", "dan")));
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserRecommendations.class)).thenReturn(bulkOperations);
+
+    recommendationService.refresh();
+
+    ArgumentCaptor<UserRecommendations> written = ArgumentCaptor.forClass(UserRecommendations.class);
+    verify(bulkOperations, times(4)).replaceOne(any(Query.class), written.capture(), any(FindAndReplaceOptions.class));
+    Map<String, UserRecommendations> byUser = written.getAllValues().stream()
+            .collect(Collectors.toMap(UserRecommendations::getUserId, Function.identity()));
+    // Bob counts once for board games despite being in two of its groups; ties go to the earlier date.
+    assertEquals(List.of("concert:2", "board-games:2"), describe(byUser.get("ana")));
+    assertEquals(List.of("concert:1", "hike:1"), describe(byUser.get("bob")));
+    assertEquals(List.of("hike:1"), describe(byUser.get("carla")));
+    assertEquals(List.of(), describe(byUser.get("dan")));
+    verify(mongoTemplate).remove(any(Query.class), eq(UserRecommendations.class));
+  }
+
+  @Test
+  void refresh_DatabaseFailure_KeepsStoredRecommendations() {
+    when(mongoTemplate.stream(any(Query.class), eq(Event.class)))
+            .thenThrow(new DataAccessResourceFailureException("down"));
+
+    recommendationService.refresh();
+
+    verify(mongoTemplate, never()).remove(any(Query.class), eq(UserRecommendations.class));
+  }
+
+  @Test
+  void getRecommendations_ReturnsStoredList() {
+    RecommendedEvent recommended = new RecommendedEvent(new EventSummary(event("concert", 3)), 2);
+    when(mongoTemplate.findById("ana", UserRecommendations.class))
+            .thenReturn(new UserRecommendations("ana", List.of(recommended), LocalDateTime.now()));
+
+    assertEquals(List.of(recommended), recommendationService.getRecommendations("ana"));
+  }
+
+  @Test
+  void getRecommendations_NothingStored_ReturnsEmptyList() {
+    when(mongoTemplate.findById("ana", UserRecommendations.class)).thenReturn(null);
+
+    assertTrue(recommendationService.getRecommendations("ana").isEmpty());
+  }
+
+  private static List<String> describe(UserRecommendations recommendations) {
+    return recommendations.getEvents().stream()
+            .map(recommended -> recommended.getEvent().getId() + ":" + recommended.getScore())
+            .toList();
+  }
+
+  private static Event event(String id, int daysAhead) {
+    Event event = new Event(id, null, LocalDate.now().plusDays(daysAhead), "Somewhere", "Social");
+    event.setId(id);
+    return event;
+  }
+
+  private static Group group(String eventId, String... memberIds) {
+    Group group = new Group();
+    group.setEventId(eventId);
+    group.setMemberIds(List.of(memberIds));
+    return group;
+  }
+}
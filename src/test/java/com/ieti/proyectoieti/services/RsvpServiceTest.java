@@ -0,0 +1,152 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventCapacityShard;
+import com.ieti.proyectoieti.models.EventReservation;
+import com.ieti.proyectoieti.repositories.EventRepository;
+import com.ieti.proyectoieti.repositories.EventReservationRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class RsvpServiceTest {
+
+  private static final String USER_ID = "user-456";
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private EventReservationRepository reservationRepository;
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private TrendingService trendingService;
+
+  private RsvpService rsvpService;
+  private Event event;
+
+  @BeforeEach
+  void setUp() {
+    rsvpService = new RsvpService(eventRepository, reservationRepository, mongoTemplate, trendingService, 4, 10);
+    event = new Event("Concert", null, LocalDate.now().plusDays(10), "Arena", "Social");
+    event.setCapacity(10);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void initializeCapacity_SplitsCapacityAcrossShards() {
+    rsvpService.initializeCapacity(event);
+
+    ArgumentCaptor<Collection<EventCapacityShard>> counters = ArgumentCaptor.forClass(Collection.class);
+    verify(mongoTemplate).insertAll(counters.capture());
+    assertEquals(List.of(3, 3, 2, 2), counters.getValue().stream().map(EventCapacityShard::getRemaining).toList());
+  }
+
+  @Test
+  void hold_PlaceAvailable_InsertsHold() {
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    when(reservationRepository.findByEventIdAndUserId(event.getId(), USER_ID)).thenReturn(Optional.empty());
+    when(mongoTemplate.find(any(Query.class), eq(EventCapacityShard.class))).thenReturn(counters(0, 1, 2, 3));
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(EventCapacityShard.class)))
+            .thenReturn(new EventCapacityShard(event.getId(), 0, 2));
+    when(reservationRepository.insert(any(EventReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    EventReservation reservation = rsvpService.hold(event.getId(), USER_ID);
+
+    assertEquals(EventReservation.Status.HELD, reservation.getStatus());
+    assertTrue(reservation.getShard() >= 0);
+    assertTrue(reservation.getExpiresAt().isAfter(LocalDateTime.now()));
+  }
+
+  @Test
+  void hold_EventFull_ThrowsException() {
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    when(reservationRepository.findByEventIdAndUserId(event.getId(), USER_ID)).thenReturn(Optional.empty());
+    when(mongoTemplate.find(any(Query.class), eq(EventCapacityShard.class))).thenReturn(counters(0, 1, 2, 3));
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(EventCapacityShard.class)))
+            .thenReturn(null);
+
+    assertThrows(IllegalArgumentException.class, () -> rsvpService.hold(event.getId(), USER_ID));
+
+    verify(mongoTemplate, times(4)).findAndModify(any(Query.class), any(Update.class), eq(EventCapacityShard.class));
+    verify(reservationRepository, never()).insert(any(EventReservation.class));
+  }
+
+  @Test
+  void hold_CountersCreatedWithFewerShards_ClaimsOnlyExistingCounters() {
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    when(reservationRepository.findByEventIdAndUserId(event.getId(), USER_ID)).thenReturn(Optional.empty());
+    when(mongoTemplate.find(any(Query.class), eq(EventCapacityShard.class))).thenReturn(counters(0, 1));
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(EventCapacityShard.class)))
+            .thenReturn(null);
+
+    assertThrows(IllegalArgumentException.class, () -> rsvpService.hold(event.getId(), USER_ID));
+
+    ArgumentCaptor<Query> claims = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate, times(2)).findAndModify(claims.capture(), any(Update.class), eq(EventCapacityShard.class));
+    assertEquals(Set.of(EventCapacityShard.idOf(event.getId(), 0), EventCapacityShard.idOf(event.getId(), 1)),
+            claims.getAllValues().stream().map(query -> query.getQueryObject().get("_id")).collect(Collectors.toSet()));
+  }
+
+  @Test
+  void hold_ActiveReservation_ReturnsExisting() {
+    EventReservation existing = new EventReservation(event.getId(), USER_ID, 1, LocalDateTime.now().plusMinutes(5));
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    when(reservationRepository.findByEventIdAndUserId(event.getId(), USER_ID)).thenReturn(Optional.of(existing));
+
+    assertSame(existing, rsvpService.hold(event.getId(), USER_ID));
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  @Test
+  void confirm_ExpiredHold_ThrowsException() {
+    EventReservation expired = new EventReservation(event.getId(), USER_ID, 1, LocalDateTime.now().minusMinutes(1));
+    when(mongoTemplate.findAndModify(
+            any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(EventReservation.class)))
+            .thenReturn(null);
+    when(reservationRepository.findByEventIdAndUserId(event.getId(), USER_ID)).thenReturn(Optional.of(expired));
+
+    assertThrows(IllegalArgumentException.class, () -> rsvpService.confirm(event.getId(), USER_ID));
+    verifyNoInteractions(trendingService);
+  }
+
+  @Test
+  void reclaimExpiredHolds_RemovedHold_ReturnsPlaceToShard() {
+    EventReservation expired = new EventReservation(event.getId(), USER_ID, 2, LocalDateTime.now().minusMinutes(1));
+    expired.setId("reservation-1");
+    when(mongoTemplate.find(any(Query.class), eq(EventReservation.class))).thenReturn(List.of(expired));
+    when(mongoTemplate.findAndRemove(any(Query.class), eq(EventReservation.class))).thenReturn(expired);
+
+    rsvpService.reclaimExpiredHolds();
+
+    verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(EventCapacityShard.class));
+  }
+
+  private List<EventCapacityShard> counters(int... shards) {
+    return Arrays.stream(shards).mapToObj(shard -> new EventCapacityShard(event.getId(), shard, 1)).toList();
+  }
+}
@@ -0,0 +1,70 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.EventTrend;
+import com.ieti.proyectoieti.models.TrendingEvent;
+import com.ieti.proyectoieti.repositories.EventRepository;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  private TrendingService trendingService;
+
+  @BeforeEach
+  void setUp() {
+    trendingService = new TrendingService(eventRepository, mongoTemplate, 24);
+  }
+
+  @Test
+  void refresh_RanksByDecayedScoreAndSkipsPastEvents() {
+    Event fresh = event("Fresh", LocalDate.now().plusDays(3));
+    Event stale = event("Stale", LocalDate.now().plusDays(3));
+    Event past = event("Past", LocalDate.now().minusDays(1));
+    long now = System.currentTimeMillis();
+    // Stale scored more, but two days of decay at a 24h half-life leave it at a quarter.
+    List<EventTrend> trends = List.of(
+            new EventTrend(stale.getId(), 10, new Date(now - TimeUnit.DAYS.toMillis(2))),
+            new EventTrend(fresh.getId(), 4, new Date(now)),
+            new EventTrend(past.getId(), 50, new Date(now)));
+    when(mongoTemplate.stream(any(Query.class), eq(EventTrend.class))).thenReturn(trends.stream());
+    when(eventRepository.findAllById(any())).thenReturn(List.of(fresh, stale, past));
+
+    trendingService.refresh();
+    List<TrendingEvent> trending = trendingService.getTrending(10);
+
+    assertEquals(List.of(fresh.getId(), stale.getId()), trending.stream().map(t -> t.getEvent().getId()).toList());
+    assertEquals(2.5, trending.get(1).getScore(), 0.01);
+  }
+
+  @Test
+  void getTrending_BeforeRefresh_ReturnsEmpty() {
+    assertTrue(trendingService.getTrending(5).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> trendingService.getTrending(0));
+  }
+
+  private static Event event(String title, LocalDate date) {
+    return new Event(title, null, date, "Bogotá", "Social");
+  }
+}
@@ -0,0 +1,114 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.Event;
+import com.ieti.proyectoieti.models.RecurrenceRule;
+import com.ieti.proyectoieti.repositories.EventRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class UpcomingEventsCacheTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private EventResponseCache responseCache;
+
+  @InjectMocks
+  private UpcomingEventsCache upcomingEventsCache;
+
+  private Event meeting;
+  private Event workshop;
+
+  @BeforeEach
+  void setUp() {
+    LocalDate today = LocalDate.now();
+    meeting = new Event("Sync", null, today.plusDays(2), "Room A", "Meeting");
+    workshop = new Event("Spring", null, today.plusDays(5), "Lab", "Workshop");
+    when(eventRepository.findByDateAfter(any(LocalDate.class))).thenReturn(List.of(workshop, meeting));
+    when(eventRepository.findActiveRecurringSeries(any(LocalDate.class))).thenReturn(List.of());
+    upcomingEventsCache.load();
+  }
+
+  @Test
+  void getUpcoming_AfterLoad_ReturnsEventsByDateWithoutQuerying() {
+    List<Event> result = upcomingEventsCache.getUpcoming(null, null, null);
+
+    assertEquals(List.of(meeting, workshop), result);
+    verify(eventRepository, times(1)).findByDateAfter(any(LocalDate.class));
+  }
+
+  @Test
+  void getUpcoming_CategoryAndWindow_ReturnsSlice() {
+    LocalDate today = LocalDate.now();
+
+    assertEquals(List.of(workshop), upcomingEventsCache.getUpcoming("Workshop", null, null));
+    assertEquals(List.of(meeting), upcomingEventsCache.getUpcoming(null, today, today.plusDays(3)));
+    assertTrue(upcomingEventsCache.getUpcoming("Meeting", today.plusDays(3), null).isEmpty());
+  }
+
+  @Test
+  void getUpcoming_RecurringSeries_ExpandsOccurrencesInWindow() {
+    LocalDate today = LocalDate.now();
+    Event standup = new Event("Standup", null, today.minusDays(20), "Room D", "Standup");
+    standup.setRecurrence(new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, null));
+    upcomingEventsCache.add(standup);
+
+    List<Event> result = upcomingEventsCache.getUpcoming("Standup", today, today.plusDays(14));
+
+    assertEquals(List.of(today.plusDays(1), today.plusDays(8)), result.stream().map(Event::getDate).toList());
+    assertEquals(standup.getId(), result.get(0).getId());
+    assertEquals(today.minusDays(20), standup.getDate());
+  }
+
+  @Test
+  void retryLoad_AfterFailedLoad_LoadsIntoMemory() {
+    UpcomingEventsCache cache = new UpcomingEventsCache(eventRepository, responseCache);
+    when(eventRepository.findByDateAfter(any(LocalDate.class)))
+            .thenThrow(new DataAccessResourceFailureException("down"))
+            .thenReturn(List.of(workshop, meeting));
+    cache.load();
+
+    cache.retryLoad();
+    cache.retryLoad();
+    cache.getUpcoming(null, null, null);
+
+    verify(eventRepository, times(3)).findByDateAfter(any(LocalDate.class));
+  }
+
+  @Test
+  void getUpcoming_FarEnd_ExpandsSeriesOnlyUpToMaximumWindow() {
+    LocalDate today = LocalDate.now();
+    Event daily = new Event("Run", null, today, "Park", "Sport");
+    daily.setRecurrence(new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null));
+    upcomingEventsCache.add(daily);
+
+    List<Event> result = upcomingEventsCache.getUpcoming("Sport", null, LocalDate.of(9999, 12, 31));
+
+    assertEquals(RecurrenceRule.MAX_EXPANSION_DAYS + 1, result.size());
+  }
+
+  @Test
+  void addAndRemove_KeepViewCurrent() {
+    Event today = new Event("Past", null, LocalDate.now(), "Room B", "Meeting");
+    Event later = new Event("Later", null, LocalDate.now().plusDays(1), "Room C", "Social");
+
+    upcomingEventsCache.add(today);
+    upcomingEventsCache.add(later);
+    upcomingEventsCache.remove(workshop.getId());
+
+    assertEquals(List.of(later, meeting), upcomingEventsCache.getUpcoming(null, null, null));
+  }
+}
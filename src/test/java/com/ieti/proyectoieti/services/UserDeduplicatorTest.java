@@ -0,0 +1,124 @@
+package com.ieti.proyectoieti.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ieti.proyectoieti.models.EventReservation;
+import com.ieti.proyectoieti.models.Group;
+import com.ieti.proyectoieti.models.SharedWallet;
+import com.ieti.proyectoieti.models.User;
+import com.ieti.proyectoieti.models.WaitlistEntry;
+import com.mongodb.client.MongoCollection;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeduplicatorTest {
+
+    private static final String SURVIVOR_ID = "user-1";
+    private static final String DUPLICATE_ID = "user-2";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RsvpService rsvpService;
+
+    @Mock
+    private MongoCollection<Document> groupCollection;
+
+    @Mock
+    private MongoCollection<Document> walletCollection;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private UserDeduplicator userDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        userDeduplicator = new UserDeduplicator(mongoTemplate, rsvpService);
+    }
+
+    @Test
+    void deduplicateAndIndex_MergesIntoEarliestUserThenCreatesUniqueIndex() {
+        User duplicate = new User("google-12345", "Test User", "test@example.com", null);
+        duplicate.setId(DUPLICATE_ID);
+        duplicate.addGroup("group-2");
+        WaitlistEntry waitlistEntry = new WaitlistEntry("group-3", DUPLICATE_ID, 1);
+        waitlistEntry.setId("waitlist-1");
+        EventReservation reservation = new EventReservation("event-1", DUPLICATE_ID, 0, null);
+        reservation.setId("reservation-1");
+
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("users"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(
+                        List.of(new Document("ids", List.of(SURVIVOR_ID, DUPLICATE_ID))), new Document()));
+        when(mongoTemplate.findById(DUPLICATE_ID, User.class)).thenReturn(duplicate);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class))).thenReturn(null);
+        when(mongoTemplate.getCollectionName(Group.class)).thenReturn("groups");
+        when(mongoTemplate.getCollection("groups")).thenReturn(groupCollection);
+        when(mongoTemplate.getCollectionName(SharedWallet.class)).thenReturn("wallets");
+        when(mongoTemplate.getCollection("wallets")).thenReturn(walletCollection);
+        when(mongoTemplate.find(any(Query.class), eq(WaitlistEntry.class))).thenReturn(List.of(waitlistEntry));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(WaitlistEntry.class)))
+                .thenThrow(new DuplicateKeyException("group_user_idx"));
+        when(mongoTemplate.find(any(Query.class), eq(EventReservation.class))).thenReturn(List.of(reservation));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(EventReservation.class)))
+                .thenThrow(new DuplicateKeyException("event_user_idx"));
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOperations);
+
+        userDeduplicator.deduplicateAndIndex();
+
+        verify(mongoTemplate).updateFirst(any(Query.class),
+                argThat((Update update) -> update.getUpdateObject().containsKey("$addToSet")), eq(User.class));
+        verify(groupCollection).updateMany(any(), anyList());
+        verify(walletCollection).updateMany(any(),
+                argThat((List<Document> pipeline) -> pipeline.toString().contains("transactions")));
+        verify(mongoTemplate).remove(any(Query.class), eq(WaitlistEntry.class));
+        verify(rsvpService).cancel("event-1", DUPLICATE_ID);
+        verify(mongoTemplate).remove(
+                argThat((Query query) -> DUPLICATE_ID.equals(query.getQueryObject().get("_id"))), eq(User.class));
+        verify(indexOperations).ensureIndex(argThat((Index index) ->
+                index.getIndexKeys().containsKey("providerUserId")
+                        && Boolean.TRUE.equals(index.getIndexOptions().get("unique"))));
+    }
+
+    @Test
+    void deduplicateAndIndex_NoDuplicates_OnlyCreatesIndex() {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("users"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOperations);
+
+        userDeduplicator.deduplicateAndIndex();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(User.class));
+        verify(indexOperations).ensureIndex(any(Index.class));
+    }
+
+    @Test
+    void deduplicateAndIndex_DatabaseFailure_SkipsIndex() {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("users"), eq(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertDoesNotThrow(() -> userDeduplicator.deduplicateAndIndex());
+        verify(mongoTemplate, never()).indexOps(User.class);
+    }
+}
@@ -8,12 +8,19 @@ import com.ieti.proyectoieti.models.User;
 import com.ieti.proyectoieti.repositories.UserRepository;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -21,6 +28,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private UserService userService;
 
@@ -38,26 +48,36 @@ class UserServiceTest {
     }
 
     @Test
-    void createOrUpdateUser_NewUser_CreatesUser() {
+    void createOrUpdateUser_NewUser_UpsertsWithCreationDate() {
         when(userRepository.findByProviderUserId(PROVIDER_USER_ID)).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(User.class))).thenReturn(testUser);
 
         User result = userService.createOrUpdateUser(PROVIDER_USER_ID, NAME, EMAIL, PICTURE);
 
-        assertNotNull(result);
-        assertEquals(NAME, result.getName());
-        assertEquals(EMAIL, result.getEmail());
-        assertEquals(PICTURE, result.getPicture());
-        verify(userRepository).save(any(User.class));
+        assertSame(testUser, result);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(
+                argThat((Query query) -> PROVIDER_USER_ID.equals(query.getQueryObject().get("providerUserId"))),
+                update.capture(), options.capture(), eq(User.class));
+        assertEquals(Set.of("name", "email", "picture", "updatedAt"),
+                update.getValue().getUpdateObject().get("$set", Document.class).keySet());
+        assertEquals(Set.of("createdAt", "groupIds"),
+                update.getValue().getUpdateObject().get("$setOnInsert", Document.class).keySet());
+        assertTrue(options.getValue().isUpsert());
+        assertTrue(options.getValue().isReturnNew());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
-    void createOrUpdateUser_ExistingUser_UpdatesUser() {
+    void createOrUpdateUser_ExistingUser_UpdatesChangedFields() {
         User existingUser = new User(PROVIDER_USER_ID, "Old Name", "old@example.com", "old.jpg");
         existingUser.setId(USER_ID);
 
         when(userRepository.findByProviderUserId(PROVIDER_USER_ID)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(User.class))).thenReturn(testUser);
 
         User result = userService.createOrUpdateUser(PROVIDER_USER_ID, NAME, EMAIL, PICTURE);
 
@@ -65,7 +85,18 @@ class UserServiceTest {
         assertEquals(NAME, result.getName());
         assertEquals(EMAIL, result.getEmail());
         assertEquals(PICTURE, result.getPicture());
-        verify(userRepository).save(existingUser);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void createOrUpdateUser_ExistingUserUnchanged_SkipsWrite() {
+        when(userRepository.findByProviderUserId(PROVIDER_USER_ID)).thenReturn(Optional.of(testUser));
+
+        User result = userService.createOrUpdateUser(PROVIDER_USER_ID, NAME, EMAIL, PICTURE);
+
+        assertSame(testUser, result);
+        verifyNoInteractions(mongoTemplate);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test